@@ -0,0 +1,89 @@
+package com.tenniscourts.benchmarks;
+
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.reservations.ReservationDTO;
+import com.tenniscourts.reservations.ReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Booking throughput when every thread books slots no other thread touches, alone and with 16
+ * threads. Each thread books the slots of its own court, so the threads only meet on shared
+ * resources and on lock stripes that happen to collide; the ratio of the two scores is the
+ * speed-up the striped booking locks allow on this machine. Each booking is cancelled again
+ * outside the measured section.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DistinctSlotBookingBenchmark {
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private ReservationService reservationService;
+
+    private List<Long> scheduleIds;
+
+    private Long guestId;
+
+    private int next;
+
+    private ReservationDTO reservation;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        int thread = THREADS.getAndIncrement();
+        var tennisCourtIds = application.getTennisCourtIds();
+        reservationService = application.getBean(ReservationService.class);
+        scheduleIds = application.findScheduleIds(tennisCourtIds.get(thread % tennisCourtIds.size()));
+        guestId = application.getGuestId(thread);
+    }
+
+    @TearDown(Level.Invocation)
+    public void releaseSchedule() {
+        if (reservation != null) {
+            reservationService.cancelReservation(reservation.getId());
+            reservation = null;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ReservationDTO bookAlone() {
+        return this.book();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public ReservationDTO bookConcurrently() {
+        return this.book();
+    }
+
+    private ReservationDTO book() {
+        var scheduleId = scheduleIds.get(next);
+        next = (next + 1) % scheduleIds.size();
+        reservation = reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(guestId)
+                .scheduleId(scheduleId)
+                .build());
+        return reservation;
+    }
+}
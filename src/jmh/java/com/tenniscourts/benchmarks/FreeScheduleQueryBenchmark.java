@@ -0,0 +1,65 @@
+package com.tenniscourts.benchmarks;
+
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleDTO;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.schedules.ScheduleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Free-schedule lookup of one court against the seeded database: the repository query the
+ * index is loaded from, and {@link ScheduleService#findFreeSchedulesByTennisCourtId} once the
+ * court is in the occupancy index. Lookups rotate over all seeded courts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FreeScheduleQueryBenchmark {
+
+    private ScheduleRepository scheduleRepository;
+
+    private ScheduleService scheduleService;
+
+    private List<Long> tennisCourtIds;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        scheduleRepository = application.getBean(ScheduleRepository.class);
+        scheduleService = application.getBean(ScheduleService.class);
+        tennisCourtIds = application.getTennisCourtIds();
+    }
+
+    @Benchmark
+    public List<Schedule> repositoryQuery() {
+        return scheduleRepository.findByTennisCourt_IdAndWithoutReservationOrderByStartDateTime(this.nextTennisCourtId());
+    }
+
+    @Benchmark
+    public List<ScheduleDTO> occupancyIndex() {
+        return scheduleService.findFreeSchedulesByTennisCourtId(this.nextTennisCourtId());
+    }
+
+    private Long nextTennisCourtId() {
+        var tennisCourtId = tennisCourtIds.get(next);
+        next = (next + 1) % tennisCourtIds.size();
+        return tennisCourtId;
+    }
+}
@@ -0,0 +1,135 @@
+package com.tenniscourts.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Insert throughput of the schedule table with the previous IDENTITY ids, where every row is
+ * its own round trip returning the generated key, against pooled-lo sequence ids, where one
+ * sequence call covers 50 ids and rows go out as JDBC batches. Scores are rows per second.
+ * <p>
+ * Both strategies run on plain JDBC over a {@link DriverManager} connection to an in-memory H2
+ * database. The pooled-lo allocation is written out by hand, the way Hibernate does it, rather
+ * than going through {@code PooledSequenceGenerator} and the repositories, so the scores leave
+ * out the persistence context, flush and entity overhead common to both and isolate the round
+ * trips each id strategy costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    private static final int ROWS = 500;
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Param({"IDENTITY", "POOLED_SEQUENCE"})
+    public String strategy;
+
+    private Connection connection;
+
+    private PreparedStatement identityInsert;
+
+    private PreparedStatement sequenceInsert;
+
+    private PreparedStatement nextSequenceValue;
+
+    private Timestamp startDateTime;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:id-generation;DB_CLOSE_DELAY=-1");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table identity_schedule (id bigint auto_increment primary key, " +
+                    "tennis_court_id bigint, start_date_time timestamp, end_date_time timestamp)");
+            statement.execute("create table sequence_schedule (id bigint primary key, " +
+                    "tennis_court_id bigint, start_date_time timestamp, end_date_time timestamp)");
+            statement.execute("create sequence sequence_schedule_seq start with 1 increment by " + ALLOCATION_SIZE);
+        }
+        identityInsert = connection.prepareStatement("insert into identity_schedule (tennis_court_id, start_date_time, end_date_time) " +
+                "values (?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+        sequenceInsert = connection.prepareStatement("insert into sequence_schedule (id, tennis_court_id, start_date_time, end_date_time) " +
+                "values (?, ?, ?, ?)");
+        nextSequenceValue = connection.prepareStatement("select next value for sequence_schedule_seq");
+        startDateTime = Timestamp.valueOf(LocalDateTime.of(2030, 1, 1, 8, 0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("shutdown");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long insertSchedules() throws SQLException {
+        long lastId = "IDENTITY".equals(strategy) ? insertWithIdentity() : insertWithPooledSequence();
+        connection.commit();
+        return lastId;
+    }
+
+    private long insertWithIdentity() throws SQLException {
+        long lastId = 0;
+        for (int i = 0; i < ROWS; i++) {
+            bindSlot(identityInsert, 1);
+            identityInsert.executeUpdate();
+            try (ResultSet keys = identityInsert.getGeneratedKeys()) {
+                keys.next();
+                lastId = keys.getLong(1);
+            }
+        }
+        return lastId;
+    }
+
+    private long insertWithPooledSequence() throws SQLException {
+        long id = 0;
+        long blockEnd = 0;
+        for (int i = 0; i < ROWS; i++) {
+            if (id == blockEnd) {
+                try (ResultSet value = nextSequenceValue.executeQuery()) {
+                    value.next();
+                    id = value.getLong(1);
+                    blockEnd = id + ALLOCATION_SIZE;
+                }
+            }
+            sequenceInsert.setLong(1, id++);
+            bindSlot(sequenceInsert, 2);
+            sequenceInsert.addBatch();
+            if ((i + 1) % ALLOCATION_SIZE == 0) {
+                sequenceInsert.executeBatch();
+            }
+        }
+        sequenceInsert.executeBatch();
+        return id - 1;
+    }
+
+    private void bindSlot(PreparedStatement statement, int firstParameter) throws SQLException {
+        statement.setLong(firstParameter, 1L);
+        statement.setTimestamp(firstParameter + 1, startDateTime);
+        statement.setTimestamp(firstParameter + 2, startDateTime);
+    }
+}
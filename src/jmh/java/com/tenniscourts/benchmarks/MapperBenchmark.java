@@ -0,0 +1,115 @@
+package com.tenniscourts.benchmarks;
+
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.money.Money;
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.reservations.Reservation;
+import com.tenniscourts.reservations.ReservationDTO;
+import com.tenniscourts.reservations.ReservationMapper;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleDTO;
+import com.tenniscourts.schedules.ScheduleMapper;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the generated MapStruct mappers on the shapes the services map on every request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int SCHEDULES_PER_COURT = 100;
+
+    private final ReservationMapper reservationMapper = Mappers.getMapper(ReservationMapper.class);
+
+    private final ScheduleMapper scheduleMapper = Mappers.getMapper(ScheduleMapper.class);
+
+    private Reservation reservation;
+
+    private ReservationDTO reservationDTO;
+
+    private CreateReservationRequestDTO createReservationRequestDTO;
+
+    private Schedule schedule;
+
+    private List<Schedule> schedules;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var tennisCourt = new TennisCourt("Benchmark court");
+        tennisCourt.setId(1L);
+        var guest = Guest.builder().name("Benchmark guest").build();
+        guest.setId(1L);
+
+        var start = LocalDateTime.of(2030, 1, 1, 8, 0);
+        schedules = new ArrayList<>(SCHEDULES_PER_COURT);
+        for (int i = 0; i < SCHEDULES_PER_COURT; i++) {
+            var courtSchedule = Schedule.builder()
+                    .tennisCourt(tennisCourt)
+                    .startDateTime(start.plusHours(i))
+                    .endDateTime(start.plusHours(i + 1))
+                    .build();
+            courtSchedule.setId((long) i + 1);
+            schedules.add(courtSchedule);
+        }
+        schedule = schedules.get(0);
+
+        reservation = Reservation.builder()
+                .guest(guest)
+                .schedule(schedule)
+                .value(Money.of(10))
+                .build();
+        reservation.setId(1L);
+        reservationDTO = reservationMapper.map(reservation);
+        createReservationRequestDTO = CreateReservationRequestDTO.builder()
+                .guestId(guest.getId())
+                .scheduleId(schedule.getId())
+                .build();
+    }
+
+    @Benchmark
+    public ReservationDTO reservationToDTO() {
+        return reservationMapper.map(reservation);
+    }
+
+    @Benchmark
+    public Reservation reservationFromDTO() {
+        return reservationMapper.map(reservationDTO);
+    }
+
+    @Benchmark
+    public Reservation reservationFromCreateRequest() {
+        return reservationMapper.map(createReservationRequestDTO);
+    }
+
+    @Benchmark
+    public ScheduleDTO scheduleToDTO() {
+        return scheduleMapper.map(schedule);
+    }
+
+    @Benchmark
+    public List<ScheduleDTO> courtSchedulesToDTOs() {
+        return scheduleMapper.map(schedules);
+    }
+}
@@ -0,0 +1,105 @@
+package com.tenniscourts.benchmarks;
+
+import com.tenniscourts.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Money} against the {@code BigDecimal} arithmetic reservations used before: the
+ * refund step of a cancellation and a revenue rollup over many reservation values. Run with
+ * {@code -prof gc} to compare allocation per operation as well as time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final BigDecimal DECIMAL_DEFAULT_VALUE = BigDecimal.valueOf(10);
+
+    private static final Money MONEY_DEFAULT_VALUE = Money.of(10);
+
+    @Param({"10000"})
+    public int reservations;
+
+    private BigDecimal[] decimalValues;
+
+    private Money[] moneyValues;
+
+    private List<Money> moneyList;
+
+    private BigDecimal decimalValue;
+
+    private Money moneyValue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new SplittableRandom(42);
+        decimalValues = new BigDecimal[reservations];
+        moneyValues = new Money[reservations];
+        for (int i = 0; i < reservations; i++) {
+            long cents = 500 + random.nextInt(5_000);
+            decimalValues[i] = BigDecimal.valueOf(cents, 2);
+            moneyValues[i] = Money.ofMinorUnits(cents);
+        }
+        moneyList = Arrays.asList(moneyValues);
+        decimalValue = new BigDecimal("10.00");
+        moneyValue = Money.of(10);
+    }
+
+    @Benchmark
+    public BigDecimal refundBigDecimal() {
+        BigDecimal refundValue = decimalValue.signum() > 0 ? decimalValue : BigDecimal.ZERO;
+        return decimalValue.subtract(refundValue).add(DECIMAL_DEFAULT_VALUE);
+    }
+
+    @Benchmark
+    public Money refundMoney() {
+        Money refundValue = moneyValue.signum() > 0 ? moneyValue : Money.ZERO;
+        return moneyValue.minus(refundValue).plus(MONEY_DEFAULT_VALUE);
+    }
+
+    @Benchmark
+    public BigDecimal rollupBigDecimal() {
+        var total = BigDecimal.ZERO;
+        for (BigDecimal value : decimalValues) {
+            total = total.add(value);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money rollupMoney() {
+        return Money.sum(moneyList);
+    }
+
+    /**
+     * Chained {@link Money#plus}, which allocates one intermediate amount per step.
+     */
+    @Benchmark
+    public Money rollupMoneyPlus() {
+        var total = Money.ZERO;
+        for (Money value : moneyValues) {
+            total = total.plus(value);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,53 @@
+package com.tenniscourts.benchmarks;
+
+import com.tenniscourts.money.Money;
+import com.tenniscourts.reservations.Reservation;
+import com.tenniscourts.reservations.RefundPolicy;
+import com.tenniscourts.schedules.Schedule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link RefundPolicy#refundValue} for a reservation inside and outside the
+ * full-refund window, including reading the clock as the service does. The policy is
+ * stateless, so no application is started.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RefundValueBenchmark {
+
+    @Param({"2", "48"})
+    public int hoursBeforeStart;
+
+    private Reservation reservation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        reservation = Reservation.builder()
+                .schedule(Schedule.builder().startDateTime(LocalDateTime.now().plusHours(hoursBeforeStart)).build())
+                .value(Money.of(10))
+                .build();
+    }
+
+    @Benchmark
+    public Money getRefundValue() {
+        return RefundPolicy.refundValue(reservation, LocalDateTime.now());
+    }
+}
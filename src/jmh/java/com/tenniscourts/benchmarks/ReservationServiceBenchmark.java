@@ -0,0 +1,114 @@
+package com.tenniscourts.benchmarks;
+
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.reservations.ReservationDTO;
+import com.tenniscourts.reservations.ReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the reservation write paths against the seeded database. Every invocation
+ * starts from the same state: the slot it books is free again and the reservation it
+ * cancels or reschedules was booked just before, outside the measured section.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationServiceBenchmark {
+
+    private ReservationService reservationService;
+
+    private List<Long> scheduleIds;
+
+    private Long guestId;
+
+    private int next;
+
+    private ReservationDTO reservation;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        reservationService = application.getBean(ReservationService.class);
+        scheduleIds = application.findScheduleIds(application.getTennisCourtIds().get(0));
+        guestId = application.getGuestId(0);
+    }
+
+    @TearDown(Level.Invocation)
+    public void releaseSchedules() {
+        if (reservation != null) {
+            reservationService.cancelReservation(reservation.getId());
+            reservation = null;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BookedReservation {
+
+        private Long reservationId;
+
+        private Long otherScheduleId;
+
+        @Setup(Level.Invocation)
+        public void book(ReservationServiceBenchmark benchmark) {
+            reservationId = benchmark.book(benchmark.nextScheduleId()).getId();
+            otherScheduleId = benchmark.nextScheduleId();
+        }
+    }
+
+    @Benchmark
+    public ReservationDTO bookReservation() {
+        reservation = this.book(this.nextScheduleId());
+        return reservation;
+    }
+
+    @Benchmark
+    public ReservationDTO cancelReservation(BookedReservation booked) {
+        return reservationService.cancelReservation(booked.reservationId);
+    }
+
+    @Benchmark
+    public ReservationDTO rescheduleReservation(BookedReservation booked) {
+        reservation = reservationService.rescheduleReservation(booked.reservationId, booked.otherScheduleId);
+        return reservation;
+    }
+
+    /**
+     * What rescheduling used to cost: a cancellation and a booking in separate transactions,
+     * each with its own lookups. Compare with {@link #rescheduleReservation}.
+     */
+    @Benchmark
+    public ReservationDTO cancelThenBookReservation(BookedReservation booked) {
+        reservationService.cancelReservation(booked.reservationId);
+        reservation = this.book(booked.otherScheduleId);
+        return reservation;
+    }
+
+    private Long nextScheduleId() {
+        var scheduleId = scheduleIds.get(next);
+        next = (next + 1) % scheduleIds.size();
+        return scheduleId;
+    }
+
+    private ReservationDTO book(Long scheduleId) {
+        return reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(guestId)
+                .scheduleId(scheduleId)
+                .build());
+    }
+}
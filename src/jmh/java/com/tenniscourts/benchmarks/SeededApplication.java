@@ -0,0 +1,122 @@
+package com.tenniscourts.benchmarks;
+
+import com.tenniscourts.TennisCourtApplication;
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.schedules.CreateScheduleBatchRequestDTO;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.schedules.ScheduleService;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The application without its web layer, on a private in-memory H2 seeded with
+ * {@link #tennisCourts} courts holding {@link #slotsPerCourt} future one-hour slots each.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    private static final int OPENING_HOUR = 8;
+
+    @Param({"20"})
+    public int tennisCourts;
+
+    @Param({"500"})
+    public int slotsPerCourt;
+
+    private ConfigurableApplicationContext context;
+
+    private List<Long> tennisCourtIds;
+
+    private List<Long> guestIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = startApplication(WebApplicationType.NONE);
+        tennisCourtIds = seedTennisCourts(context, tennisCourts, slotsPerCourt);
+
+        var guestRepository = context.getBean(GuestRepository.class);
+        guestIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            guestIds.add(guestRepository.save(Guest.builder().name("Benchmark guest " + i).build()).getId());
+        }
+    }
+
+    static ConfigurableApplicationContext startApplication(WebApplicationType webApplicationType, String... args) {
+        var arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.orm.jdbc.bind=WARN"));
+        arguments.addAll(List.of(args));
+        return new SpringApplicationBuilder(TennisCourtApplication.class)
+                .web(webApplicationType)
+                .run(arguments.toArray(new String[0]));
+    }
+
+    static List<Long> seedTennisCourts(ConfigurableApplicationContext context, int tennisCourts, int slotsPerCourt) {
+        var tennisCourtRepository = context.getBean(TennisCourtRepository.class);
+        var scheduleService = context.getBean(ScheduleService.class);
+        int slotsPerDay = 12;
+        var startDate = LocalDate.now().plusDays(2);
+
+        var tennisCourtIds = new ArrayList<Long>(tennisCourts);
+        for (int i = 0; i < tennisCourts; i++) {
+            var tennisCourt = tennisCourtRepository.save(new TennisCourt("Benchmark court " + i));
+            scheduleService.addSchedulesBatch(CreateScheduleBatchRequestDTO.builder()
+                    .tennisCourtId(tennisCourt.getId())
+                    .startDate(startDate)
+                    .endDate(startDate.plusDays((slotsPerCourt - 1) / slotsPerDay))
+                    .openingTime(LocalTime.of(OPENING_HOUR, 0))
+                    .closingTime(LocalTime.of(OPENING_HOUR + slotsPerDay, 0))
+                    .build());
+            tennisCourtIds.add(tennisCourt.getId());
+        }
+        return tennisCourtIds;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public List<Long> getTennisCourtIds() {
+        return tennisCourtIds;
+    }
+
+    public Long getGuestId(int index) {
+        return guestIds.get(index % guestIds.size());
+    }
+
+    public List<Long> findScheduleIds(Long tennisCourtId) {
+        return findScheduleIds(context, tennisCourtId);
+    }
+
+    static List<Long> findScheduleIds(ConfigurableApplicationContext context, Long tennisCourtId) {
+        return context.getBean(ScheduleRepository.class).findAll().stream()
+                .filter(schedule -> schedule.getTennisCourt().getId().equals(tennisCourtId))
+                .map(Schedule::getId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
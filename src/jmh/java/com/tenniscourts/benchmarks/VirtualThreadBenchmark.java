@@ -0,0 +1,106 @@
+package com.tenniscourts.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Time to serve a burst of {@link #concurrency} simultaneous schedule lookups over HTTP, with
+ * requests handled on Tomcat's platform-thread pool or on virtual threads
+ * ({@code spring.threads.virtual.enabled}). Every request reads its schedule through JPA.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class VirtualThreadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"1000"})
+    public int concurrency;
+
+    @Param({"50"})
+    public int tomcatMaxThreads;
+
+    private ConfigurableApplicationContext context;
+
+    private ExecutorService clientExecutor;
+
+    private HttpClient httpClient;
+
+    private List<HttpRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeededApplication.startApplication(WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + tomcatMaxThreads,
+                "--server.tomcat.accept-count=" + concurrency);
+        var tennisCourtId = SeededApplication.seedTennisCourts(context, 1, 500).get(0);
+        var scheduleIds = SeededApplication.findScheduleIds(context, tennisCourtId);
+
+        var baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        var random = new SplittableRandom(42);
+        requests = random.ints(concurrency, 0, scheduleIds.size())
+                .mapToObj(i -> HttpRequest.newBuilder(URI.create(baseUrl + "/schedule/" + scheduleIds.get(i))).GET().build())
+                .collect(Collectors.toList());
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int burst() {
+        var responses = requests.stream()
+                .map(request -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(responses).join();
+        int failed = 0;
+        for (CompletableFuture<?> response : responses) {
+            if (((HttpResponse<?>) response.join()).statusCode() != 200) {
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            throw new IllegalStateException(failed + " of " + concurrency + " requests failed.");
+        }
+        return concurrency;
+    }
+}
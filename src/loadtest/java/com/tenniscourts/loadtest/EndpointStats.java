@@ -0,0 +1,75 @@
+package com.tenniscourts.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of the requests sent to one endpoint.
+ */
+public class EndpointStats {
+
+    private final String endpoint;
+
+    private final ConcurrentHistogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+
+    private final LongAdder successes = new LongAdder();
+
+    private final LongAdder conflicts = new LongAdder();
+
+    private final LongAdder throttled = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public void record(int status, long elapsedNanos) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), latencies.getHighestTrackableValue()));
+        if (status >= 200 && status < 300) {
+            successes.increment();
+        } else if (status == 409) {
+            conflicts.increment();
+        } else if (status == 429) {
+            throttled.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    public void reset() {
+        latencies.reset();
+        successes.reset();
+        conflicts.reset();
+        throttled.reset();
+        errors.reset();
+    }
+
+    public String format(double elapsedSeconds) {
+        long requests = latencies.getTotalCount();
+        return String.format("%-40s %9d %10.1f %7.2f%% %7.2f%% %7.2f%% %9.2f %9.2f %9.2f %9.2f",
+                endpoint, requests, requests / elapsedSeconds,
+                percentage(conflicts.sum(), requests), percentage(throttled.sum(), requests), percentage(errors.sum(), requests),
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getMaxValue()));
+    }
+
+    public static String header() {
+        return String.format("%-40s %9s %10s %8s %8s %8s %9s %9s %9s %9s",
+                "endpoint", "requests", "req/s", "409", "429", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms");
+    }
+
+    public long getRequests() {
+        return latencies.getTotalCount();
+    }
+
+    private static double percentage(long count, long total) {
+        return total == 0 ? 0 : 100.0 * count / total;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
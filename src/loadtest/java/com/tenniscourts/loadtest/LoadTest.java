@@ -0,0 +1,261 @@
+package com.tenniscourts.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenniscourts.TennisCourtApplication;
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.schedules.CreateScheduleBatchRequestDTO;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.schedules.ScheduleService;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Starts the application on an in-memory H2, seeds courts, schedules and guests, then lets a
+ * pool of clients replay a weighted mix of book, cancel, reschedule and free-slot requests
+ * against the REST API. Prints throughput, latency percentiles and error rates per endpoint.
+ * <p>
+ * Run with {@code ./gradlew loadTest -Dloadtest.clients=64 -Dloadtest.mix=book=60,free=40};
+ * see {@link LoadTestSettings} for all parameters.
+ */
+public class LoadTest {
+
+    private static final int OPENING_HOUR = 8;
+
+    private static final int SLOTS_PER_DAY = 12;
+
+    private final LoadTestSettings settings;
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+
+    private final ConcurrentLinkedQueue<Long> bookedReservationIds = new ConcurrentLinkedQueue<>();
+
+    private final Scenario[] weightedScenarios;
+
+    private String baseUrl;
+
+    private List<Long> tennisCourtIds;
+
+    private List<Long> scheduleIds;
+
+    private List<Long> guestIds;
+
+    public LoadTest(LoadTestSettings settings) {
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(settings.getClients()))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        stats.put(Scenario.BOOK, new EndpointStats("POST /reservation"));
+        stats.put(Scenario.CANCEL, new EndpointStats("POST /reservation/{id}/cancel"));
+        stats.put(Scenario.RESCHEDULE, new EndpointStats("POST /reservation/{id}/reschedule"));
+        stats.put(Scenario.FREE, new EndpointStats("GET /tennis-court/{id}/schedules/free"));
+        this.weightedScenarios = settings.getMix().entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Scenario[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        var settings = new LoadTestSettings();
+        System.out.println("Load test: " + settings);
+
+        try (var context = new SpringApplicationBuilder(TennisCourtApplication.class)
+                .run(withDefaults(args))) {
+            var loadTest = new LoadTest(settings);
+            loadTest.seed(context);
+            loadTest.run();
+        }
+        System.exit(0);
+    }
+
+    private static String[] withDefaults(String[] args) {
+        var arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                // Every client connects from localhost, so per-client limits would measure the
+                // rate limiter instead of the booking path.
+                "--tenniscourts.admission.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.orm.jdbc.bind=WARN"));
+        arguments.addAll(List.of(args));
+        return arguments.toArray(new String[0]);
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        long start = System.nanoTime();
+
+        var tennisCourtRepository = context.getBean(TennisCourtRepository.class);
+        var scheduleService = context.getBean(ScheduleService.class);
+        var startDate = LocalDate.now().plusDays(2);
+        tennisCourtIds = new ArrayList<>();
+        for (int i = 0; i < settings.getTennisCourts(); i++) {
+            var tennisCourt = tennisCourtRepository.save(new TennisCourt("Load test court " + i));
+            scheduleService.addSchedulesBatch(CreateScheduleBatchRequestDTO.builder()
+                    .tennisCourtId(tennisCourt.getId())
+                    .startDate(startDate)
+                    .endDate(startDate.plusDays((settings.getSlotsPerCourt() - 1) / SLOTS_PER_DAY))
+                    .openingTime(LocalTime.of(OPENING_HOUR, 0))
+                    .closingTime(LocalTime.of(OPENING_HOUR + SLOTS_PER_DAY, 0))
+                    .build());
+            tennisCourtIds.add(tennisCourt.getId());
+        }
+        scheduleIds = context.getBean(ScheduleRepository.class).findAll().stream()
+                .filter(schedule -> !schedule.getStartDateTime().toLocalDate().isBefore(startDate))
+                .map(Schedule::getId)
+                .collect(Collectors.toList());
+
+        var guests = new ArrayList<Guest>();
+        for (int i = 0; i < settings.getGuests(); i++) {
+            guests.add(Guest.builder().name("Load test guest " + i).build());
+        }
+        guestIds = context.getBean(GuestRepository.class).saveAll(guests).stream()
+                .map(Guest::getId)
+                .collect(Collectors.toList());
+
+        System.out.printf("Seeded %d courts, %d schedules and %d guests in %d ms against %s%n",
+                tennisCourtIds.size(), scheduleIds.size(), guestIds.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), baseUrl);
+    }
+
+    private void run() throws Exception {
+        if (settings.getWarmupSeconds() > 0) {
+            this.drive(settings.getWarmupSeconds(), settings.getRandomSeed() - 1);
+            stats.values().forEach(EndpointStats::reset);
+        }
+
+        long start = System.nanoTime();
+        this.drive(settings.getDurationSeconds(), settings.getRandomSeed());
+        double elapsedSeconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+
+        System.out.println();
+        System.out.println(EndpointStats.header());
+        long total = 0;
+        for (EndpointStats endpointStats : stats.values()) {
+            System.out.println(endpointStats.format(elapsedSeconds));
+            total += endpointStats.getRequests();
+        }
+        System.out.printf("%nTotal %d requests in %.1f s (%.1f req/s) from %d clients%n",
+                total, elapsedSeconds, total / elapsedSeconds, settings.getClients());
+    }
+
+    private void drive(int seconds, long seed) throws Exception {
+        var clients = Executors.newFixedThreadPool(settings.getClients());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        var seeds = new SplittableRandom(seed);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int i = 0; i < settings.getClients(); i++) {
+                var random = seeds.split();
+                futures.add(clients.submit(() -> this.clientLoop(random, deadline)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private Void clientLoop(SplittableRandom random, long deadline) throws IOException, InterruptedException {
+        while (System.nanoTime() < deadline) {
+            var scenario = weightedScenarios[random.nextInt(weightedScenarios.length)];
+            if ((scenario == Scenario.CANCEL || scenario == Scenario.RESCHEDULE) && bookedReservationIds.isEmpty()) {
+                scenario = Scenario.BOOK;
+            }
+            switch (scenario) {
+                case BOOK:
+                    this.book(random);
+                    break;
+                case CANCEL:
+                    this.cancel();
+                    break;
+                case RESCHEDULE:
+                    this.reschedule(random);
+                    break;
+                default:
+                    this.findFreeSchedules(random);
+            }
+        }
+        return null;
+    }
+
+    private void book(SplittableRandom random) throws IOException, InterruptedException {
+        var body = String.format("{\"guestId\":%d,\"scheduleId\":%d}",
+                pick(guestIds, random), pick(scheduleIds, random));
+        var response = this.send(Scenario.BOOK, HttpRequest.newBuilder(URI.create(baseUrl + "/reservation"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        response.headers().firstValue("Location")
+                .map(location -> Long.valueOf(location.substring(location.lastIndexOf('/') + 1)))
+                .ifPresent(bookedReservationIds::add);
+    }
+
+    private void cancel() throws IOException, InterruptedException {
+        var reservationId = bookedReservationIds.poll();
+        if (reservationId != null) {
+            this.send(Scenario.CANCEL, HttpRequest.newBuilder(URI.create(baseUrl + "/reservation/" + reservationId + "/cancel"))
+                    .POST(HttpRequest.BodyPublishers.noBody()));
+        }
+    }
+
+    private void reschedule(SplittableRandom random) throws IOException, InterruptedException {
+        var reservationId = bookedReservationIds.poll();
+        if (reservationId == null) {
+            return;
+        }
+        var response = this.send(Scenario.RESCHEDULE, HttpRequest.newBuilder(URI.create(baseUrl + "/reservation/" + reservationId
+                + "/reschedule?scheduleId=" + pick(scheduleIds, random)))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+        if (response.statusCode() == 200) {
+            bookedReservationIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+        } else {
+            bookedReservationIds.add(reservationId);
+        }
+    }
+
+    private void findFreeSchedules(SplittableRandom random) throws IOException, InterruptedException {
+        this.send(Scenario.FREE, HttpRequest.newBuilder(URI.create(baseUrl + "/tennis-court/" + pick(tennisCourtIds, random) + "/schedules/free"))
+                .GET());
+    }
+
+    private HttpResponse<String> send(Scenario scenario, HttpRequest.Builder request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        var response = httpClient.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+        stats.get(scenario).record(response.statusCode(), System.nanoTime() - start);
+        return response;
+    }
+
+    private static Long pick(List<Long> ids, SplittableRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.tenniscourts.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test parameters, read from {@code loadtest.*} system properties.
+ */
+public class LoadTestSettings {
+
+    private static final String DEFAULT_MIX = "book=40,cancel=15,reschedule=15,free=30";
+
+    private final int tennisCourts = Integer.getInteger("loadtest.courts", 20);
+
+    private final int slotsPerCourt = Integer.getInteger("loadtest.slots-per-court", 500);
+
+    private final int guests = Integer.getInteger("loadtest.guests", 200);
+
+    private final int clients = Integer.getInteger("loadtest.clients", 32);
+
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+
+    private final long randomSeed = Long.getLong("loadtest.seed", 42L);
+
+    private final Map<Scenario, Integer> mix = parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+
+    public int getTennisCourts() {
+        return tennisCourts;
+    }
+
+    public int getSlotsPerCourt() {
+        return slotsPerCourt;
+    }
+
+    public int getGuests() {
+        return guests;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public Map<Scenario, Integer> getMix() {
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("courts=%d slotsPerCourt=%d guests=%d clients=%d warmup=%ds duration=%ds seed=%d mix=%s",
+                tennisCourts, slotsPerCourt, guests, clients, warmupSeconds, durationSeconds, randomSeed, mix);
+    }
+
+    private static Map<Scenario, Integer> parseMix(String value) {
+        var mix = new EnumMap<Scenario, Integer>(Scenario.class);
+        for (String entry : value.split(",")) {
+            var parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Scenario weights must not be negative: " + entry);
+            }
+            mix.put(Scenario.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix needs at least one positive weight.");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,8 @@
+package com.tenniscourts.loadtest;
+
+public enum Scenario {
+    BOOK,
+    CANCEL,
+    RESCHEDULE,
+    FREE
+}
@@ -0,0 +1,127 @@
+package com.tenniscourts.loadtest;
+
+import com.tenniscourts.TennisCourtApplication;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from launching the application in a fresh JVM to its first successful
+ * request, a schedule query that reaches the database, for each profile in
+ * {@code startup.profiles}. Each profile gets its own file database: one unmeasured launch
+ * creates it, then {@code startup.runs} measured restarts reuse it, as a redeployment would.
+ * <p>
+ * Run with {@code ./gradlew startupBenchmark -Dstartup.runs=5 -Dstartup.profiles=default,prod}.
+ */
+public class StartupBenchmark {
+
+    private static final String PROBE_PATH = "/schedule?from=2030-01-01&to=2030-01-02";
+
+    private static final long POLL_INTERVAL_MILLIS = 10;
+
+    private final int runs = Integer.getInteger("startup.runs", 5);
+
+    private final List<String> profiles = Arrays.asList(System.getProperty("startup.profiles", "default,prod").split(","));
+
+    private final long timeoutMillis = TimeUnit.SECONDS.toMillis(Long.getLong("startup.timeout-seconds", 120));
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        new StartupBenchmark().run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Startup benchmark: runs=%d profiles=%s%n", runs, profiles);
+        var results = new ArrayList<String>();
+        for (String profile : profiles) {
+            var workDirectory = Files.createTempDirectory("startup-benchmark-" + profile.trim());
+            this.launch(profile.trim(), workDirectory);
+            var timings = new ArrayList<Long>(runs);
+            for (int run = 0; run < runs; run++) {
+                timings.add(this.launch(profile.trim(), workDirectory));
+            }
+            Collections.sort(timings);
+            results.add(String.format("%-10s min %6d ms   median %6d ms   max %6d ms",
+                    profile.trim(), timings.get(0), timings.get(timings.size() / 2), timings.get(timings.size() - 1)));
+        }
+        System.out.println();
+        System.out.println("Time to first successful request:");
+        results.forEach(System.out::println);
+    }
+
+    private long launch(String profile, Path workDirectory) throws Exception {
+        int port = freePort();
+        var command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                TennisCourtApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:" + workDirectory.resolve("tennisCourts").toAbsolutePath(),
+                "--tenniscourts.journal.dir=" + workDirectory.resolve("journal").toAbsolutePath()));
+        if (!"default".equals(profile)) {
+            command.add("--spring.profiles.active=" + profile);
+        }
+        var log = workDirectory.resolve("application.log").toFile();
+
+        long start = System.nanoTime();
+        var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(log))
+                .start();
+        try {
+            this.awaitFirstSuccessfulRequest(process, port, log);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            System.out.printf("%-10s %6d ms%n", profile, elapsedMillis);
+            return elapsedMillis;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private void awaitFirstSuccessfulRequest(Process process, int port, File log) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PROBE_PATH))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening, or not serving yet.
+            }
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+        throw new IllegalStateException("No successful request within " + timeoutMillis + " ms, see " + log);
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.tenniscourts.archive;
+
+import com.tenniscourts.schedules.ScheduleOccupancyIndex;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the live schedule and reservation tables limited to recent and future slots. Once
+ * a day, per {@code tenniscourts.archive.cron}, schedules that ended more than
+ * {@code tenniscourts.archive.horizon-days} ago are moved with their reservations to the
+ * history tables, {@code tenniscourts.archive.chunk-size} schedules per transaction.
+ */
+@Component
+@Log
+public class ArchivalJob {
+
+    private final ArchiveWriter archiveWriter;
+
+    private final ScheduleOccupancyIndex occupancyIndex;
+
+    private final int horizonDays;
+
+    private final int chunkSize;
+
+    private final ReentrantLock running = new ReentrantLock();
+
+    public ArchivalJob(ArchiveWriter archiveWriter,
+                       ScheduleOccupancyIndex occupancyIndex,
+                       @Value("${tenniscourts.archive.horizon-days:90}") int horizonDays,
+                       @Value("${tenniscourts.archive.chunk-size:1000}") int chunkSize) {
+        if (horizonDays < 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Archive horizon must not be negative and chunk size must be positive.");
+        }
+        this.archiveWriter = archiveWriter;
+        this.occupancyIndex = occupancyIndex;
+        this.horizonDays = horizonDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${tenniscourts.archive.cron:0 30 3 * * *}")
+    public void archivePastSchedules() {
+        this.archive(LocalDateTime.now().minusDays(horizonDays));
+    }
+
+    public ArchivalResultDTO archive(LocalDateTime cutoff) {
+        if (!running.tryLock()) {
+            log.info("Archival already running, skipped.");
+            return ArchivalResultDTO.builder().cutoff(cutoff).build();
+        }
+        try {
+            long start = System.nanoTime();
+            int chunks = 0;
+            int schedules = 0;
+            int reservations = 0;
+            ArchivalResultDTO chunk;
+            do {
+                chunk = archiveWriter.archiveChunk(cutoff, chunkSize);
+                schedules += chunk.getArchivedSchedules();
+                reservations += chunk.getArchivedReservations();
+                chunks++;
+            } while (chunk.getArchivedSchedules() == chunkSize);
+
+            occupancyIndex.pruneBefore(cutoff);
+
+            var result = ArchivalResultDTO.builder()
+                    .cutoff(cutoff)
+                    .archivedSchedules(schedules)
+                    .archivedReservations(reservations)
+                    .chunks(chunks)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                    .build();
+            log.info("Archived " + schedules + " schedules and " + reservations + " reservations that ended before "
+                    + cutoff + " in " + chunks + " chunks, " + result.getElapsedMillis() + " ms.");
+            return result;
+        } finally {
+            running.unlock();
+        }
+    }
+}
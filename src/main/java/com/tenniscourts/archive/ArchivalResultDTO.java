@@ -0,0 +1,27 @@
+package com.tenniscourts.archive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivalResultDTO {
+
+    private LocalDateTime cutoff;
+
+    private int archivedSchedules;
+
+    private int archivedReservations;
+
+    private int chunks;
+
+    private long elapsedMillis;
+}
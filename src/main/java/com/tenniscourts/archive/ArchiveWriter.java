@@ -0,0 +1,71 @@
+package com.tenniscourts.archive;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Moves schedules that ended before a cutoff, and their reservations, to the history tables
+ * with set-based SQL. Each call moves one chunk in its own transaction: rows are copied and
+ * deleted together, so a row is always in exactly one of the live and history tables.
+ */
+@Repository
+public class ArchiveWriter {
+
+    private static final String SELECT_SCHEDULE_IDS = "select id from schedule " +
+            "where end_date_time < :cutoff order by id fetch first :limit rows only";
+
+    private static final String COPY_SCHEDULES = "insert into schedule_history " +
+            "(id, tennis_court_id, start_date_time, end_date_time, date_create, date_update, user_create, user_update, ip_number_create, ip_number_update, archived_at) " +
+            "select id, tennis_court_id, start_date_time, end_date_time, date_create, date_update, user_create, user_update, ip_number_create, ip_number_update, :archivedAt " +
+            "from schedule where id in (:scheduleIds)";
+
+    private static final String COPY_RESERVATIONS = "insert into reservation_history " +
+            "(id, guest_id, schedule_id, value_minor_units, refund_value_minor_units, reservation_status, date_create, date_update, user_create, user_update, ip_number_create, ip_number_update, archived_at) " +
+            "select id, guest_id, schedule_id, value_minor_units, refund_value_minor_units, reservation_status, date_create, date_update, user_create, user_update, ip_number_create, ip_number_update, :archivedAt " +
+            "from reservation where schedule_id in (:scheduleIds)";
+
+    private static final String DELETE_WAITLIST_ENTRIES = "delete from waitlist_entry where schedule_id in (:scheduleIds)";
+
+    private static final String DELETE_RESERVATIONS = "delete from reservation where schedule_id in (:scheduleIds)";
+
+    private static final String DELETE_SCHEDULES = "delete from schedule where id in (:scheduleIds)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ArchiveWriter(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return how many schedules and reservations were moved; no schedules means nothing is left to archive
+     */
+    @Transactional
+    public ArchivalResultDTO archiveChunk(LocalDateTime cutoff, int chunkSize) {
+        var scheduleIds = jdbcTemplate.queryForList(SELECT_SCHEDULE_IDS, new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", chunkSize), Long.class);
+        if (scheduleIds.isEmpty()) {
+            return ArchivalResultDTO.builder().build();
+        }
+
+        var parameters = new MapSqlParameterSource()
+                .addValue("scheduleIds", scheduleIds)
+                .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.update(COPY_SCHEDULES, parameters);
+        int reservations = jdbcTemplate.update(COPY_RESERVATIONS, parameters);
+        // Nobody waits for a slot that has already been played.
+        jdbcTemplate.update(DELETE_WAITLIST_ENTRIES, parameters);
+        jdbcTemplate.update(DELETE_RESERVATIONS, parameters);
+        jdbcTemplate.update(DELETE_SCHEDULES, parameters);
+
+        return ArchivalResultDTO.builder()
+                .archivedSchedules(scheduleIds.size())
+                .archivedReservations(reservations)
+                .build();
+    }
+}
@@ -0,0 +1,6 @@
+package com.tenniscourts.audit;
+
+public enum AuditAction {
+    CREATE,
+    UPDATE
+}
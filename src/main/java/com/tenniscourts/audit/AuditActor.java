@@ -0,0 +1,16 @@
+package com.tenniscourts.audit;
+
+import lombok.Value;
+
+@Value
+public class AuditActor {
+
+    Long userId;
+
+    /**
+     * The user the caller said it acts for, unverified; null when it did not say.
+     */
+    Long claimedUserId;
+
+    String ipNumber;
+}
@@ -0,0 +1,46 @@
+package com.tenniscourts.audit;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Holds the actor of the current request for the audit listener. It is filled once per
+ * request by {@link AuditContextFilter}; writes outside a request are attributed to the
+ * system user and this server's address, which is resolved only once.
+ */
+public final class AuditContext {
+
+    private static final ThreadLocal<AuditActor> CURRENT = new ThreadLocal<>();
+
+    private AuditContext() {}
+
+    public static AuditActor current() {
+        var actor = CURRENT.get();
+        return actor != null ? actor : SystemActor.INSTANCE;
+    }
+
+    public static void set(AuditActor actor) {
+        CURRENT.set(actor);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static AuditActor system() {
+        return SystemActor.INSTANCE;
+    }
+
+    private static final class SystemActor {
+
+        private static final AuditActor INSTANCE = new AuditActor(CustomAuditEntityListener.USER_SYSTEM_ID, null, localHostAddress());
+
+        private static String localHostAddress() {
+            try {
+                return InetAddress.getLocalHost().getHostAddress();
+            } catch (UnknownHostException e) {
+                return InetAddress.getLoopbackAddress().getHostAddress();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.tenniscourts.audit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Captures the client address and the calling user once per request.
+ * <p>
+ * The address is the remote address of the request, which the servlet container only takes from
+ * {@code X-Forwarded-For} when the request came through a trusted proxy, see
+ * {@code server.forward-headers-strategy}. The user is only taken from an authenticated
+ * principal; a {@value #USER_ID_HEADER} header is recorded as claimed, never as the user.
+ */
+@Component
+public class AuditContextFilter extends OncePerRequestFilter {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AuditContext.set(new AuditActor(userId(request), claimedUserId(request), request.getRemoteAddr()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            AuditContext.clear();
+        }
+    }
+
+    private Long userId(HttpServletRequest request) {
+        var principal = request.getUserPrincipal();
+        if (principal != null) {
+            try {
+                return Long.valueOf(principal.getName());
+            } catch (NumberFormatException e) {
+                return CustomAuditEntityListener.USER_SYSTEM_ID;
+            }
+        }
+        return CustomAuditEntityListener.USER_SYSTEM_ID;
+    }
+
+    private Long claimedUserId(HttpServletRequest request) {
+        var userId = request.getHeader(USER_ID_HEADER);
+        if (StringUtils.hasText(userId)) {
+            try {
+                return Long.valueOf(userId.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.tenniscourts.audit;
+
+import com.tenniscourts.config.persistence.PooledSequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = PooledSequenceGenerator.NAME)
+    @GenericGenerator(name = PooledSequenceGenerator.NAME, type = PooledSequenceGenerator.class)
+    private Long id;
+
+    @Column
+    private String entityName;
+
+    @Column
+    private Long entityId;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private AuditAction action;
+
+    @Column
+    private Long userId;
+
+    @Column
+    private Long claimedUserId;
+
+    @Column
+    private String ipNumber;
+
+    @Column
+    private LocalDateTime dateTime;
+}
@@ -0,0 +1,6 @@
+package com.tenniscourts.audit;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+}
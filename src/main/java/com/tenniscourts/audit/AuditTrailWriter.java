@@ -0,0 +1,155 @@
+package com.tenniscourts.audit;
+
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Writes audit records to the audit_log table from a single background thread, in batches.
+ * <p>
+ * Producers never wait on the database: a record is offered to a bounded queue, waiting at
+ * most {@code tenniscourts.audit.offer-timeout-ms} for room (0 by default). When the queue is
+ * still full the record is dropped and counted in {@link #getDroppedRecords()}, so a slow or
+ * unavailable database costs audit completeness, never request latency.
+ */
+@Component
+@Log
+public class AuditTrailWriter {
+
+    private static final long DROP_WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final AuditLogRepository auditLogRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<AuditLog> queue;
+
+    private final int batchSize;
+
+    private final long flushIntervalMillis;
+
+    private final long offerTimeoutMillis;
+
+    private final AtomicLong droppedRecords = new AtomicLong();
+
+    private final AtomicLong writtenRecords = new AtomicLong();
+
+    private final AtomicLong lastDropWarning = new AtomicLong(System.nanoTime() - DROP_WARNING_INTERVAL_NANOS);
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    public AuditTrailWriter(AuditLogRepository auditLogRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${tenniscourts.audit.queue-capacity:10000}") int queueCapacity,
+                            @Value("${tenniscourts.audit.batch-size:200}") int batchSize,
+                            @Value("${tenniscourts.audit.flush-interval-ms:500}") long flushIntervalMillis,
+                            @Value("${tenniscourts.audit.offer-timeout-ms:0}") long offerTimeoutMillis) {
+        this.auditLogRepository = auditLogRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-trail-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join(flushIntervalMillis + TimeUnit.SECONDS.toMillis(5));
+        try {
+            this.flush();
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, "Could not write pending audit records on shutdown.", e);
+        }
+    }
+
+    public boolean submit(AuditLog auditLog) {
+        boolean accepted;
+        try {
+            accepted = offerTimeoutMillis > 0
+                    ? queue.offer(auditLog, offerTimeoutMillis, TimeUnit.MILLISECONDS)
+                    : queue.offer(auditLog);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            this.recordDrop();
+        }
+        return accepted;
+    }
+
+    public long getDroppedRecords() {
+        return droppedRecords.get();
+    }
+
+    public long getWrittenRecords() {
+        return writtenRecords.get();
+    }
+
+    public int getPendingRecords() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                var first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    var batch = new ArrayList<AuditLog>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    this.write(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Could not write audit records.", e);
+            }
+        }
+    }
+
+    private void flush() {
+        var batch = new ArrayList<AuditLog>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            this.write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        transactionTemplate.execute(status -> auditLogRepository.saveAll(batch));
+        writtenRecords.addAndGet(batch.size());
+    }
+
+    private void recordDrop() {
+        long dropped = droppedRecords.incrementAndGet();
+        long now = System.nanoTime();
+        long last = lastDropWarning.get();
+        if (now - last >= DROP_WARNING_INTERVAL_NANOS && lastDropWarning.compareAndSet(last, now)) {
+            log.warning("Audit queue is full, " + dropped + " audit records dropped so far.");
+        }
+    }
+}
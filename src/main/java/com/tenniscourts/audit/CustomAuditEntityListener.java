@@ -1,45 +1,94 @@
 package com.tenniscourts.audit;
 
 import com.tenniscourts.config.persistence.BaseEntity;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import javax.persistence.PrePersist;
-import javax.persistence.PreUpdate;
-import java.net.InetAddress;
-import java.net.UnknownHostException;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+@Component
 public class CustomAuditEntityListener {
 
     public final static Long USER_SYSTEM_ID = 1L;
 
-    @PreUpdate
-    public void preUpdate(BaseEntity baseEntity) throws UnknownHostException {
+    private final AuditTrailWriter auditTrailWriter;
+
+    // Lazy: Hibernate creates this listener while the EntityManagerFactory the writer needs is still being built.
+    public CustomAuditEntityListener(@Lazy AuditTrailWriter auditTrailWriter) {
+        this.auditTrailWriter = auditTrailWriter;
+    }
 
+    @PreUpdate
+    public void preUpdate(BaseEntity baseEntity) {
+        var actor = AuditContext.current();
         baseEntity.setDateUpdate(LocalDateTime.now());
         if (Objects.isNull(baseEntity.getUserUpdate())) {
-            baseEntity.setUserUpdate(USER_SYSTEM_ID);
+            baseEntity.setUserUpdate(actor.getUserId());
         }
         if (Objects.isNull(baseEntity.getIpNumberUpdate())) {
-            baseEntity.setIpNumberUpdate(InetAddress.getLocalHost().getHostAddress());
+            baseEntity.setIpNumberUpdate(actor.getIpNumber());
         }
     }
 
     @PrePersist
-    public void prePersist(BaseEntity baseEntity) throws UnknownHostException {
-        baseEntity.setDateUpdate(LocalDateTime.now());
+    public void prePersist(BaseEntity baseEntity) {
+        var actor = AuditContext.current();
+        var now = LocalDateTime.now();
+        baseEntity.setDateUpdate(now);
         if (Objects.isNull(baseEntity.getUserUpdate())) {
-            baseEntity.setUserUpdate(USER_SYSTEM_ID);
+            baseEntity.setUserUpdate(actor.getUserId());
         }
-        baseEntity.setDateCreate(LocalDateTime.now());
+        baseEntity.setDateCreate(now);
         if (Objects.isNull(baseEntity.getUserCreate())) {
-            baseEntity.setUserCreate(USER_SYSTEM_ID);
+            baseEntity.setUserCreate(actor.getUserId());
         }
-        if (Objects.isNull(baseEntity.getIpNumberCreate())) {
-            baseEntity.setIpNumberUpdate(InetAddress.getLocalHost().getHostAddress());
+        if (Objects.isNull(baseEntity.getIpNumberUpdate())) {
+            baseEntity.setIpNumberUpdate(actor.getIpNumber());
         }
         if (Objects.isNull(baseEntity.getIpNumberCreate())) {
-            baseEntity.setIpNumberCreate(InetAddress.getLocalHost().getHostAddress());
+            baseEntity.setIpNumberCreate(actor.getIpNumber());
+        }
+    }
+
+    @PostPersist
+    public void postPersist(BaseEntity<?> baseEntity) {
+        this.record(baseEntity, AuditAction.CREATE);
+    }
+
+    @PostUpdate
+    public void postUpdate(BaseEntity<?> baseEntity) {
+        this.record(baseEntity, AuditAction.UPDATE);
+    }
+
+    private void record(BaseEntity<?> baseEntity, AuditAction action) {
+        var actor = AuditContext.current();
+        var auditLog = AuditLog.builder()
+                .entityName(baseEntity.getClass().getSimpleName())
+                .entityId(baseEntity.getId() instanceof Long ? (Long) baseEntity.getId() : null)
+                .action(action)
+                .userId(actor.getUserId())
+                .claimedUserId(actor.getClaimedUserId())
+                .ipNumber(actor.getIpNumber())
+                .dateTime(LocalDateTime.now())
+                .build();
+
+        // Only committed changes are audited; the record is handed over once the transaction commits.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    auditTrailWriter.submit(auditLog);
+                }
+            });
+        } else {
+            auditTrailWriter.submit(auditLog);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package com.tenniscourts.availability;
+
+import com.tenniscourts.config.BaseRestController;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("/availability")
+public class AvailabilityController extends BaseRestController {
+
+    private final AvailabilityService availabilityService;
+
+    @Operation(summary = "Return the free and booked slots of many tennis courts between two dates, run-length encoded per court")
+    @GetMapping()
+    public ResponseEntity<AvailabilityMatrixDTO> findAvailability(@RequestParam("courts") List<Long> tennisCourtIds,
+                                                                  @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                                                  @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                                                  @RequestParam(defaultValue = "60") int slotMinutes) {
+        // Both dates are whole days, so the grid ends at the midnight after the last one.
+        return ResponseEntity.ok(availabilityService.findAvailability(tennisCourtIds, startDate.atStartOfDay(),
+                endDate.plusDays(1).atStartOfDay(), slotMinutes));
+    }
+}
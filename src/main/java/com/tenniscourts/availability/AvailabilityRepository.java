@@ -0,0 +1,19 @@
+package com.tenniscourts.availability;
+
+import com.tenniscourts.tenniscourts.TennisCourt;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AvailabilityRepository extends Repository<TennisCourt, Long> {
+
+    @Query("select new com.tenniscourts.availability.AvailabilitySlot(t.id, s.startDateTime, s.endDateTime, " +
+            "case when exists (select r.id from Reservation r where r.schedule.id = s.id and r.reservationStatus = com.tenniscourts.reservations.ReservationStatus.READY_TO_PLAY) then true else false end) " +
+            "from TennisCourt t left join Schedule s on s.tennisCourt.id = t.id and s.startDateTime >= ?2 and s.startDateTime < ?3 " +
+            "where t.id in ?1 order by t.id, s.startDateTime")
+    List<AvailabilitySlot> findSlotsByTennisCourtIdsAndStartDateTimeBetween(Collection<Long> tennisCourtIds,
+                                                                          LocalDateTime startDateTime, LocalDateTime endDateTime);
+}
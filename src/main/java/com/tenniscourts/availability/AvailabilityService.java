@@ -0,0 +1,137 @@
+package com.tenniscourts.availability;
+
+import com.tenniscourts.exceptions.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Free and booked slots of many courts over a date range, as one grid of fixed size cells per
+ * court read with a single query.
+ * <p>
+ * A cell is {@code F} when a free slot covers it, {@code B} when a booked one does and {@code -}
+ * when no slot that can still be booked does, such as closed hours or slots already started.
+ * Each court row is run-length encoded as a count followed by its symbol, so a day of one hour
+ * cells open from 8 to 20 with the 10 o'clock slot booked reads {@code 8-2F1B9F4-}.
+ */
+@Service
+public class AvailabilityService {
+
+    public static final int MAX_TENNIS_COURTS = 100;
+
+    public static final int MAX_SLOT_MINUTES = 1440;
+
+    static final byte FREE = 'F';
+
+    static final byte BOOKED = 'B';
+
+    static final byte CLOSED = '-';
+
+    private final AvailabilityRepository availabilityRepository;
+
+    private final int maxCells;
+
+    public AvailabilityService(AvailabilityRepository availabilityRepository,
+                               @Value("${tenniscourts.availability.max-cells:100000}") int maxCells) {
+        this.availabilityRepository = availabilityRepository;
+        this.maxCells = maxCells;
+    }
+
+    @Transactional(readOnly = true)
+    public AvailabilityMatrixDTO findAvailability(List<Long> tennisCourtIds, LocalDateTime from, LocalDateTime to, int slotMinutes) {
+        if (tennisCourtIds == null || tennisCourtIds.isEmpty() || tennisCourtIds.size() > MAX_TENNIS_COURTS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_TENNIS_COURTS + " tennis courts must be given.");
+        }
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("End date must not be before start date.");
+        }
+        if (slotMinutes <= 0 || slotMinutes > MAX_SLOT_MINUTES) {
+            throw new IllegalArgumentException("Slot minutes must be between 1 and " + MAX_SLOT_MINUTES + ".");
+        }
+        var courtIds = new LinkedHashSet<>(tennisCourtIds);
+        long cells = (Duration.between(from, to).toMinutes() + slotMinutes - 1) / slotMinutes;
+        if (cells * courtIds.size() > maxCells) {
+            throw new IllegalArgumentException("Cannot return more than " + maxCells + " cells at once.");
+        }
+
+        // Slots that already started can no longer be booked, so they are left out as closed.
+        var now = LocalDateTime.now();
+        var grid = new HashMap<Long, byte[]>();
+        for (AvailabilitySlot slot : availabilityRepository.findSlotsByTennisCourtIdsAndStartDateTimeBetween(courtIds, now.isAfter(from) ? now : from, to)) {
+            var row = grid.computeIfAbsent(slot.getTennisCourtId(), id -> {
+                var emptyRow = new byte[(int) cells];
+                Arrays.fill(emptyRow, CLOSED);
+                return emptyRow;
+            });
+            if (slot.getStartDateTime() != null) {
+                mark(row, from, slotMinutes, slot);
+            }
+        }
+        if (grid.size() < courtIds.size()) {
+            throw new EntityNotFoundException("Tennis Court not found.");
+        }
+
+        var courts = new ArrayList<CourtAvailabilityDTO>(courtIds.size());
+        for (Long tennisCourtId : courtIds) {
+            var row = grid.get(tennisCourtId);
+            courts.add(CourtAvailabilityDTO.builder()
+                    .tennisCourtId(tennisCourtId)
+                    .freeCells(count(row, FREE))
+                    .runs(encode(row))
+                    .build());
+        }
+        return AvailabilityMatrixDTO.builder()
+                .from(from)
+                .to(to)
+                .slotMinutes(slotMinutes)
+                .cells((int) cells)
+                .courts(courts)
+                .build();
+    }
+
+    /**
+     * Marks every cell the slot overlaps. A cell shared with a booked slot stays booked.
+     */
+    private static void mark(byte[] row, LocalDateTime from, int slotMinutes, AvailabilitySlot slot) {
+        int first = (int) (Duration.between(from, slot.getStartDateTime()).toMinutes() / slotMinutes);
+        long endMinutes = Duration.between(from, slot.getEndDateTime()).toMinutes();
+        int last = (int) Math.min(row.length - 1, Math.max(first, (endMinutes + slotMinutes - 1) / slotMinutes - 1));
+        for (int cell = first; cell <= last; cell++) {
+            if (Boolean.TRUE.equals(slot.getBooked())) {
+                row[cell] = BOOKED;
+            } else if (row[cell] != BOOKED) {
+                row[cell] = FREE;
+            }
+        }
+    }
+
+    static String encode(byte[] row) {
+        var runs = new StringBuilder();
+        int start = 0;
+        for (int cell = 1; cell <= row.length; cell++) {
+            if (cell == row.length || row[cell] != row[start]) {
+                runs.append(cell - start).append((char) row[start]);
+                start = cell;
+            }
+        }
+        return runs.toString();
+    }
+
+    private static int count(byte[] row, byte symbol) {
+        int count = 0;
+        for (byte cell : row) {
+            if (cell == symbol) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
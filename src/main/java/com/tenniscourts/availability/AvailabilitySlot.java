@@ -0,0 +1,23 @@
+package com.tenniscourts.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the availability query: a schedule slot of a court and whether it is booked, or
+ * only the court, with no slot, when it has none in the range.
+ */
+@Getter
+@AllArgsConstructor
+public class AvailabilitySlot {
+
+    private final Long tennisCourtId;
+
+    private final LocalDateTime startDateTime;
+
+    private final LocalDateTime endDateTime;
+
+    private final Boolean booked;
+}
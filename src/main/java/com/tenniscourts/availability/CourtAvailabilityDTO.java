@@ -0,0 +1,21 @@
+package com.tenniscourts.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourtAvailabilityDTO {
+
+    private Long tennisCourtId;
+
+    private int freeCells;
+
+    private String runs;
+}
@@ -1,15 +1,39 @@
 package com.tenniscourts.config;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
-import springfox.documentation.annotations.ApiIgnore;
 
 import java.net.URI;
 
-@ApiIgnore
 public class BaseRestController {
 
   protected URI locationByEntity(Long entityId){
         return ServletUriComponentsBuilder.fromCurrentRequest().path(
                 "/{id}").buildAndExpand(entityId).toUri();
     }
+
+    /**
+     * Compares an {@code If-None-Match} header with the current ETag. The comparison is weak, as
+     * the header requires, so a tag that compression turned into {@code W/"..."} still matches.
+     */
+    protected boolean isNotModified(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
 }
@@ -0,0 +1,40 @@
+package com.tenniscourts.config.cache;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches for reference rows read on every booking. Size and TTL limits come from
+ * {@code spring.cache.caffeine.spec}; writes through the cached repositories evict the row.
+ * They hold DTOs filled by the services, which hand out copies: a managed entity shared between
+ * sessions could be changed and merged back by any caller.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TENNIS_COURTS = "tennisCourts";
+
+    public static final String GUESTS = "guests";
+
+    /**
+     * Defers puts and evictions to the commit of the surrounding transaction, like the occupancy
+     * index updates. Evicting before the commit would let a concurrent read cache the old row
+     * again for the whole TTL; a rolled back write evicts nothing.
+     */
+    @Bean
+    public static BeanPostProcessor transactionAwareCacheManager() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof CacheManager cacheManager && !(bean instanceof TransactionAwareCacheManagerProxy)
+                        ? new TransactionAwareCacheManagerProxy(cacheManager)
+                        : bean;
+            }
+        };
+    }
+}
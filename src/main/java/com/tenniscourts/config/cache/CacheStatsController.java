@@ -0,0 +1,48 @@
+package com.tenniscourts.config.cache;
+
+import com.tenniscourts.config.BaseRestController;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/cache")
+@AllArgsConstructor
+public class CacheStatsController extends BaseRestController {
+
+    private final CacheManager cacheManager;
+
+    @Operation(summary = "Return hit, miss and eviction counters of the reference data caches")
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsDTO>> findCacheStats() {
+        return ResponseEntity.ok(cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .filter(CaffeineCache.class::isInstance)
+                .map(cache -> this.toStats((CaffeineCache) cache))
+                .collect(Collectors.toList()));
+    }
+
+    private CacheStatsDTO toStats(CaffeineCache cache) {
+        var nativeCache = cache.getNativeCache();
+        var stats = nativeCache.stats();
+        return CacheStatsDTO.builder()
+                .name(cache.getName())
+                .size(nativeCache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
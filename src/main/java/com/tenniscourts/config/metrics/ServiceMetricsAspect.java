@@ -0,0 +1,42 @@
+package com.tenniscourts.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the application's {@code @Service} beans as
+ * {@code tenniscourts.service}, tagged by class, method and thrown exception.
+ * Percentiles are configured with {@code management.metrics.distribution.*}.
+ */
+@Aspect
+@Component
+@AllArgsConstructor
+public class ServiceMetricsAspect {
+
+    public static final String METRIC_NAME = "tenniscourts.service";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(com.tenniscourts..*) && @within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        var sample = Timer.start(meterRegistry);
+        var exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.tenniscourts.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Records the number of SQL statements each request issued as {@code tenniscourts.http.statements},
+ * tagged with the same uri template as {@code http.server.requests}.
+ */
+@Component
+@AllArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_NAME = "tenniscourts.http.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        StatementCountInspector.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC_NAME)
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                    .register(meterRegistry)
+                    .record(StatementCountInspector.count());
+            StatementCountInspector.clear();
+        }
+    }
+}
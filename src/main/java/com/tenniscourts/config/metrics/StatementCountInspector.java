@@ -0,0 +1,31 @@
+package com.tenniscourts.config.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Registered through
+ * {@code hibernate.session_factory.statement_inspector}, so Hibernate creates the instance
+ * and the count lives in a static thread local.
+ */
+public class StatementCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> STATEMENTS = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get()[0] = 0;
+    }
+
+    public static int count() {
+        return STATEMENTS.get()[0];
+    }
+
+    public static void clear() {
+        STATEMENTS.remove();
+    }
+}
@@ -0,0 +1,46 @@
+package com.tenniscourts.config.persistence;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only copy of a {@link BaseEntity} row moved to a history table. The row keeps its
+ * original id and audit columns; rows are only ever written by the archival job, in SQL.
+ */
+@MappedSuperclass
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode
+public class ArchivedEntity implements Serializable {
+
+    @Id
+    private Long id;
+
+    @Column
+    private String ipNumberUpdate;
+
+    @Column
+    private Long userCreate;
+
+    @Column
+    private Long userUpdate;
+
+    @Column
+    private LocalDateTime dateUpdate;
+
+    @Column
+    private String ipNumberCreate;
+
+    @Column
+    private LocalDateTime dateCreate;
+
+    @Column
+    private LocalDateTime archivedAt;
+}
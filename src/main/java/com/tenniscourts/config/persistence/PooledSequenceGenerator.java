@@ -0,0 +1,30 @@
+package com.tenniscourts.config.persistence;
+
+import org.hibernate.MappingException;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence-per-entity generator using the pooled-lo optimizer: every call to the
+ * {@code <entity>_seq} sequence hands out a block of {@link #ALLOCATION_SIZE} ids, so
+ * Hibernate assigns ids in memory and keeps JDBC insert batching enabled.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String NAME = "pooled_sequence";
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String SEQUENCE_SUFFIX = "_seq";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        params.putIfAbsent(SEQUENCE_PARAM, params.getProperty(TABLE) + SEQUENCE_SUFFIX);
+        params.putIfAbsent(INCREMENT_PARAM, String.valueOf(ALLOCATION_SIZE));
+        params.putIfAbsent(OPT_PARAM, "pooled-lo");
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -0,0 +1,61 @@
+package com.tenniscourts.config.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to the replicas listed in {@code tenniscourts.datasource.replica.urls}.
+ * Replicas share the credentials of {@code spring.datasource}. Without replicas the single
+ * auto-configured data source is used as before.
+ * <p>
+ * Needs {@code spring.jpa.open-in-view=false}: an entity manager held open for the whole request
+ * keeps the first connection it opened, so later transactions of the request would not be routed.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tenniscourts.datasource.replica.urls")
+@Log
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+                                                             @Value("${tenniscourts.datasource.replica.urls}") List<String> replicaUrls,
+                                                             @Value("${tenniscourts.datasource.replica.stickiness-ms:5000}") long stickinessMillis,
+                                                             @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            log.warning("Replica routing is enabled with spring.jpa.open-in-view=true: requests stay on the first data source they use.");
+        }
+        var primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        var replicas = new ArrayList<DataSource>(replicaUrls.size());
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            var replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(replicaUrls.get(i).trim()).build();
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, Duration.ofMillis(stickinessMillis));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaStickinessFilter replicaStickinessFilter(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaStickinessFilter(replicaRoutingDataSource.getStickinessMillis());
+    }
+}
@@ -0,0 +1,67 @@
+package com.tenniscourts.config.persistence;
+
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing state read by {@link ReplicaRoutingDataSource}. A thread is pinned to the
+ * primary for the stickiness window after it wrote, inside {@link #onPrimary(Supplier)}, or
+ * until the time its request carried in from an earlier write ({@link ReplicaStickinessFilter}).
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<State> CURRENT = ThreadLocal.withInitial(State::new);
+
+    private ReplicaRoutingContext() {}
+
+    /**
+     * Runs the action with every connection it opens taken from the primary, for reads that
+     * must not see replication lag.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        var state = CURRENT.get();
+        state.primaryScopes++;
+        try {
+            return action.get();
+        } finally {
+            state.primaryScopes--;
+        }
+    }
+
+    /**
+     * @param primaryUntilMillis epoch millis until which reads stay on the primary, 0 for none
+     * @param onWrite            told the new pin time the first time this thread writes
+     */
+    public static void set(long primaryUntilMillis, LongConsumer onWrite) {
+        var state = CURRENT.get();
+        state.primaryUntilMillis = primaryUntilMillis;
+        state.onWrite = onWrite;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    static boolean isPinnedToPrimary(long nowMillis) {
+        var state = CURRENT.get();
+        return state.primaryScopes > 0 || nowMillis < state.primaryUntilMillis;
+    }
+
+    static void wrote(long primaryUntilMillis) {
+        var state = CURRENT.get();
+        state.primaryUntilMillis = Math.max(state.primaryUntilMillis, primaryUntilMillis);
+        if (state.onWrite != null) {
+            state.onWrite.accept(state.primaryUntilMillis);
+            state.onWrite = null;
+        }
+    }
+
+    private static final class State {
+
+        private long primaryUntilMillis;
+
+        private int primaryScopes;
+
+        private LongConsumer onWrite;
+    }
+}
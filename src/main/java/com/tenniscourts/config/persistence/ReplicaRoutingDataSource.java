@@ -0,0 +1,89 @@
+package com.tenniscourts.config.persistence;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of read-only transactions to the replicas, round robin, and everything
+ * else to the primary. A thread that opened a read-write connection keeps reading from the
+ * primary for {@code stickiness}, so it reads its own writes whatever the replication lag.
+ * <p>
+ * The key is decided when a connection is opened, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the connection is
+ * then opened at the first statement, after the transaction has published its read-only flag.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+
+    private final List<DataSource> replicas;
+
+    private final String[] replicaKeys;
+
+    private final long stickinessMillis;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration stickiness) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required.");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.replicaKeys = new String[replicas.size()];
+        this.stickinessMillis = stickiness.toMillis();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            replicaKeys[i] = "replica-" + i;
+            targets.put(replicaKeys[i], replicas.get(i));
+        }
+        this.setTargetDataSources(targets);
+        this.setDefaultTargetDataSource(primary);
+        this.afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        long now = System.currentTimeMillis();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReplicaRoutingContext.wrote(now + stickinessMillis);
+            }
+            return PRIMARY;
+        }
+        if (ReplicaRoutingContext.isPinnedToPrimary(now)) {
+            return PRIMARY;
+        }
+        return replicaKeys[Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.length)];
+    }
+
+    public long getStickinessMillis() {
+        return stickinessMillis;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (var replica : replicas) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.tenniscourts.config.persistence;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Carries read-your-writes across requests: a request that writes answers with the
+ * {@value #COOKIE_NAME} cookie, and requests presenting it read from the primary until the
+ * time it holds. The time is capped at one stickiness window from now, whatever the client sends.
+ */
+public class ReplicaStickinessFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "tc-read-primary-until";
+
+    private final long stickinessMillis;
+
+    public ReplicaStickinessFilter(long stickinessMillis) {
+        this.stickinessMillis = stickinessMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        ReplicaRoutingContext.set(Math.min(primaryUntil(request), now + stickinessMillis),
+                primaryUntil -> response.addCookie(cookie(primaryUntil, now)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0L;
+                    }
+                }
+            }
+        }
+        return 0L;
+    }
+
+    private static Cookie cookie(long primaryUntil, long now) {
+        var cookie = new Cookie(COOKIE_NAME, Long.toString(primaryUntil));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1L, (primaryUntil - now + 999) / 1000));
+        return cookie;
+    }
+}
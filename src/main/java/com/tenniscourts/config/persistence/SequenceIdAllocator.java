@@ -0,0 +1,31 @@
+package com.tenniscourts.config.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reserves ids for rows written with plain JDBC from the same sequences Hibernate uses.
+ * Each sequence value is the low end of a block of {@link PooledSequenceGenerator#ALLOCATION_SIZE}
+ * ids, exactly as the pooled-lo optimizer reads it, so both writers never overlap.
+ */
+@Component
+public class SequenceIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long[] allocate(String tableName, int count) {
+        var ids = new long[count];
+        var nextValue = "select next value for " + tableName + PooledSequenceGenerator.SEQUENCE_SUFFIX;
+        for (int i = 0; i < count; i += PooledSequenceGenerator.ALLOCATION_SIZE) {
+            long low = jdbcTemplate.queryForObject(nextValue, Long.class);
+            for (int j = 0; j < PooledSequenceGenerator.ALLOCATION_SIZE && i + j < count; j++) {
+                ids[i + j] = low + j;
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,21 @@
+package com.tenniscourts.config.startup;
+
+import com.tenniscourts.archive.ArchivalJob;
+import com.tenniscourts.journal.ReservationEventRelay;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that must be created at startup even with {@code spring.main.lazy-initialization}:
+ * a lazy bean's {@code @Scheduled} methods are never scheduled, and the relay has to drain
+ * events committed before a restart without waiting for the next booking.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter backgroundWorkers() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ArchivalJob.class, ReservationEventRelay.class);
+    }
+}
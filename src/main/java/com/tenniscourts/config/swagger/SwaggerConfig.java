@@ -1,32 +1,33 @@
 package com.tenniscourts.config.swagger;
 
+import com.tenniscourts.money.Money;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.info.Info;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import springfox.documentation.builders.ApiInfoBuilder;
-import springfox.documentation.builders.PathSelectors;
-import springfox.documentation.builders.RequestHandlerSelectors;
-import springfox.documentation.service.ApiInfo;
-import springfox.documentation.spi.DocumentationType;
-import springfox.documentation.spring.web.plugins.Docket;
+
+import java.math.BigDecimal;
 
 
 @Configuration
 public class SwaggerConfig {
 
+    static {
+        // Money is written as a plain decimal number, document it as one.
+        SpringDocUtils.getConfig().replaceWithClass(Money.class, BigDecimal.class);
+    }
+
     @Bean
-    public Docket productApi() {
-        return new Docket(DocumentationType.SWAGGER_2)
-                .select().apis(RequestHandlerSelectors.basePackage("com.tenniscourts"))
-                .paths(PathSelectors.any())
-                .build()
-                .apiInfo(this.apiInfo());
+    public OpenAPI productApi() {
+        return new OpenAPI()
+                .info(this.apiInfo());
     }
 
-    private ApiInfo apiInfo() {
-        return new ApiInfoBuilder()
+    private Info apiInfo() {
+        return new Info()
                 .title("Tennis Court Reservation REST API")
                 .description("Documentation to manage the Tennis Court Platform through REST API")
-                .version("1.0.0")
-                        .build();
+                .version("1.0.0");
     }
 }
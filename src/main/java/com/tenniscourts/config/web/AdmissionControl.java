@@ -0,0 +1,124 @@
+package com.tenniscourts.config.web;
+
+import com.tenniscourts.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits on booking and scheduling writes, checked before they reach the database: a token
+ * bucket per guest and per client address, and a cap on the writes running at once across all
+ * clients. A refused request gets 429 with the seconds to wait in {@code Retry-After}.
+ * <p>
+ * Configured by {@code tenniscourts.admission.*}. The limits are exported as
+ * {@code tenniscourts.admission.limit}, refusals as {@code tenniscourts.admission.rejected}
+ * tagged by reason and the running writes as {@code tenniscourts.admission.writes.in-flight}.
+ * {@code tenniscourts.admission.enabled=false} admits everything, for load tests whose clients
+ * all share one address.
+ */
+@Component
+public class AdmissionControl {
+
+    static final int STRIPES = 16384;
+
+    private final boolean enabled;
+
+    private final RateLimiter guests;
+
+    private final RateLimiter clients;
+
+    private final Semaphore writes;
+
+    private final Counter guestRejections;
+
+    private final Counter clientRejections;
+
+    private final Counter concurrencyRejections;
+
+    public AdmissionControl(MeterRegistry meterRegistry,
+                            @Value("${tenniscourts.admission.enabled:true}") boolean enabled,
+                            @Value("${tenniscourts.admission.guest.rate-per-second:2}") double guestRate,
+                            @Value("${tenniscourts.admission.guest.burst:5}") int guestBurst,
+                            @Value("${tenniscourts.admission.client.rate-per-second:20}") double clientRate,
+                            @Value("${tenniscourts.admission.client.burst:50}") int clientBurst,
+                            @Value("${tenniscourts.admission.max-concurrent-writes:64}") int maxConcurrentWrites) {
+        if (maxConcurrentWrites <= 0) {
+            throw new IllegalArgumentException("Maximum concurrent writes must be positive.");
+        }
+        this.enabled = enabled;
+        this.guests = new RateLimiter(guestRate, guestBurst, STRIPES);
+        this.clients = new RateLimiter(clientRate, clientBurst, STRIPES);
+        this.writes = new Semaphore(maxConcurrentWrites);
+
+        limit(meterRegistry, "guest.rate-per-second", guestRate);
+        limit(meterRegistry, "guest.burst", guestBurst);
+        limit(meterRegistry, "client.rate-per-second", clientRate);
+        limit(meterRegistry, "client.burst", clientBurst);
+        limit(meterRegistry, "max-concurrent-writes", maxConcurrentWrites);
+        Gauge.builder("tenniscourts.admission.writes.in-flight", writes, w -> maxConcurrentWrites - w.availablePermits())
+                .register(meterRegistry);
+        this.guestRejections = rejections(meterRegistry, "guest");
+        this.clientRejections = rejections(meterRegistry, "client");
+        this.concurrencyRejections = rejections(meterRegistry, "concurrency");
+    }
+
+    public void admitGuest(Long guestId) {
+        if (!enabled || guestId == null) {
+            return;
+        }
+        long waitNanos = guests.acquire(guestId);
+        if (waitNanos > 0) {
+            guestRejections.increment();
+            throw new TooManyRequestsException("Too many requests for this guest.", toRetryAfterSeconds(waitNanos));
+        }
+    }
+
+    public void admitClient(String address) {
+        if (!enabled) {
+            return;
+        }
+        long waitNanos = clients.acquire(address);
+        if (waitNanos > 0) {
+            clientRejections.increment();
+            throw new TooManyRequestsException("Too many requests from this client.", toRetryAfterSeconds(waitNanos));
+        }
+    }
+
+    /**
+     * Takes a write slot without waiting, to be given back with {@link #exitWrite()}.
+     */
+    public void enterWrite() {
+        if (enabled && !writes.tryAcquire()) {
+            concurrencyRejections.increment();
+            throw new TooManyRequestsException("Too many requests, try again shortly.", 1L);
+        }
+    }
+
+    public void exitWrite() {
+        if (enabled) {
+            writes.release();
+        }
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static void limit(MeterRegistry meterRegistry, String name, double value) {
+        Gauge.builder("tenniscourts.admission.limit", () -> value)
+                .tag("limit", name)
+                .register(meterRegistry);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("tenniscourts.admission.rejected")
+                .description("Requests refused with 429 before reaching the database")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,72 @@
+package com.tenniscourts.config.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenniscourts.exceptions.ErrorDetails;
+import com.tenniscourts.exceptions.TooManyRequestsException;
+import lombok.AllArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Applies the client rate limit and the concurrent write cap of {@link AdmissionControl} to
+ * writes under {@code /reservation} and {@code /schedule}, before the request is dispatched.
+ * The client is the remote address, the same one the audit trail records: behind a trusted
+ * proxy it is the caller's, through {@code server.forward-headers-strategy}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@AllArgsConstructor
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admissionControl;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                || HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/reservation") && !path.startsWith("/schedule");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            admissionControl.admitClient(request.getRemoteAddr());
+            admissionControl.enterWrite();
+        } catch (TooManyRequestsException e) {
+            this.reject(request, response, e);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            admissionControl.exitWrite();
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, TooManyRequestsException e) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorDetails(LocalDateTime.now(), e.getMessage(), "uri=" + request.getRequestURI()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.tenniscourts.config.web;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory version counters behind the ETags of tennis court and reservation reads, so a
+ * matching {@code If-None-Match} is answered without reading the database.
+ * <p>
+ * Counters are striped by id: a change also bumps the other ids of its stripe, which only
+ * costs them a full response. Tags carry the start time of this instance, so a tag from before
+ * a restart or from another instance never matches.
+ */
+@Component
+public class EntityVersions {
+
+    static final int STRIPES = 4096;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final AtomicLongArray tennisCourts = new AtomicLongArray(STRIPES);
+
+    private final AtomicLongArray reservations = new AtomicLongArray(STRIPES);
+
+    /**
+     * To be called once the free schedules of the court have changed.
+     */
+    public void tennisCourtChanged(Long tennisCourtId) {
+        changed(tennisCourts, tennisCourtId);
+    }
+
+    /**
+     * To be called once the reservation has changed.
+     */
+    public void reservationChanged(Long reservationId) {
+        changed(reservations, reservationId);
+    }
+
+    public long tennisCourtVersion(Long tennisCourtId) {
+        return tennisCourts.get(stripe(tennisCourtId));
+    }
+
+    public long reservationVersion(Long reservationId) {
+        return reservations.get(stripe(reservationId));
+    }
+
+    /**
+     * Strong ETag of a read. {@code version} must be taken before the data is read, so a change
+     * racing with the read leaves the response with an older tag rather than a newer one.
+     */
+    public String eTag(String resource, Long id, long version, long... parts) {
+        var eTag = new StringBuilder(48).append('"').append(epoch).append('-').append(resource).append('-').append(id)
+                .append('-').append(version);
+        for (long part : parts) {
+            eTag.append('-').append(part);
+        }
+        return eTag.append('"').toString();
+    }
+
+    private static void changed(AtomicLongArray versions, Long id) {
+        int stripe = stripe(id);
+        versions.incrementAndGet(stripe);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Bumped again once the change is visible to other transactions: a read in between
+            // may have tagged the old rows with the first bump.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versions.incrementAndGet(stripe);
+                }
+            });
+        }
+    }
+
+    private static int stripe(Long id) {
+        int hash = Long.hashCode(id);
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
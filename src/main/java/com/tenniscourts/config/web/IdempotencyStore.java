@@ -0,0 +1,122 @@
+package com.tenniscourts.config.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tenniscourts.exceptions.AlreadyExistsEntityException;
+import com.tenniscourts.exceptions.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Responses of write requests sent with an {@code Idempotency-Key}, so a client retrying after a
+ * timeout gets the response of its first attempt instead of booking or refunding twice.
+ * <p>
+ * The first request with a key runs and every retry arriving meanwhile waits for it, up to
+ * {@code tenniscourts.idempotency.wait-ms}. A response is kept for
+ * {@code tenniscourts.idempotency.ttl-minutes}, at most {@code tenniscourts.idempotency.max-keys}
+ * of them, least recently used evicted first. A request that fails is handed to its waiters and
+ * then forgotten: nothing was committed, so a later retry runs it again.
+ * <p>
+ * Keys are scoped by client, its remote address, and by method and path, so two clients that
+ * happen to choose the same key never see each other's responses.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Execution> executions;
+
+    private final long waitMillis;
+
+    public IdempotencyStore(@Value("${tenniscourts.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                            @Value("${tenniscourts.idempotency.max-keys:100000}") long maxKeys,
+                            @Value("${tenniscourts.idempotency.wait-ms:30000}") long waitMillis) {
+        if (ttlMinutes <= 0 || maxKeys <= 0 || waitMillis < 0) {
+            throw new IllegalArgumentException("Idempotency TTL and key limit must be positive and wait must not be negative.");
+        }
+        this.executions = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .build();
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Runs {@code action} once per key of the client and endpoint of {@code httpRequest}.
+     * {@code request} describes the operation and its arguments; reusing a key for a different
+     * request is rejected. Without a key the action simply runs.
+     */
+    public <T> ResponseEntity<T> execute(HttpServletRequest httpRequest, String key, String request, Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters.");
+        }
+
+        var scopedKey = httpRequest.getRemoteAddr() + " " + httpRequest.getMethod() + " " + httpRequest.getRequestURI() + " " + key;
+        var execution = new Execution(request);
+        var first = executions.asMap().putIfAbsent(scopedKey, execution);
+        if (first != null) {
+            return first.await(request, waitMillis);
+        }
+        try {
+            var response = action.get();
+            execution.response.complete(response);
+            return response;
+        } catch (Throwable e) {
+            // Errors too: a key left pending would hold its retries until they time out.
+            executions.asMap().remove(scopedKey, execution);
+            execution.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static final class Execution {
+
+        private final String request;
+
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Execution(String request) {
+            this.request = request;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> ResponseEntity<T> await(String request, long waitMillis) {
+            if (!this.request.equals(request)) {
+                throw new BusinessException(HEADER + " was already used for a different request.");
+            }
+            try {
+                var replayed = (ResponseEntity<T>) response.get(waitMillis, TimeUnit.MILLISECONDS);
+                return ResponseEntity.status(replayed.getStatusCode())
+                        .headers(replayed.getHeaders())
+                        .header(REPLAYED_HEADER, "true")
+                        .body(replayed.getBody());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (TimeoutException e) {
+                throw new AlreadyExistsEntityException("A request with this " + HEADER + " is still being processed.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the first request with this " + HEADER + ".", e);
+            }
+        }
+    }
+}
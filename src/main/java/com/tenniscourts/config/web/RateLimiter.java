@@ -0,0 +1,60 @@
+package com.tenniscourts.config.web;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token bucket kept as the generic cell rate algorithm: one theoretical arrival time per
+ * stripe, advanced by compare-and-set, so admitting a request takes no lock and no allocation.
+ * <p>
+ * Keys are hashed onto a fixed number of stripes. Keys sharing a stripe share a bucket, which
+ * can only make the limit stricter for them, never looser.
+ */
+public class RateLimiter {
+
+    private final AtomicLongArray arrivals;
+
+    private final long origin = System.nanoTime();
+
+    private final long intervalNanos;
+
+    private final long toleranceNanos;
+
+    public RateLimiter(double ratePerSecond, int burst, int stripes) {
+        if (ratePerSecond <= 0 || burst <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive and stripes a power of two.");
+        }
+        this.arrivals = new AtomicLongArray(stripes);
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / ratePerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+    }
+
+    /**
+     * Takes a token for {@code key}.
+     *
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long acquire(Object key) {
+        return this.acquire(key, System.nanoTime() - origin);
+    }
+
+    long acquire(Object key, long nowNanos) {
+        int stripe = this.stripe(key);
+        while (true) {
+            long arrival = arrivals.get(stripe);
+            long next = Math.max(arrival, nowNanos);
+            long waitNanos = next - toleranceNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (arrivals.compareAndSet(stripe, arrival, next + intervalNanos)) {
+                return 0L;
+            }
+        }
+    }
+
+    private int stripe(Object key) {
+        // Spread the hash so keys differing only in their high bits, like addresses, use different stripes.
+        int hash = key.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (arrivals.length() - 1);
+    }
+}
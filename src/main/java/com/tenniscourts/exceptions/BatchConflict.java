@@ -0,0 +1,14 @@
+package com.tenniscourts.exceptions;
+
+import lombok.Value;
+
+/**
+ * One rejected item of a batch request: the id of the item and why it was rejected.
+ */
+@Value
+public class BatchConflict {
+
+    Long id;
+
+    String reason;
+}
@@ -0,0 +1,27 @@
+package com.tenniscourts.exceptions;
+
+import java.util.List;
+
+/**
+ * The type Batch conflict exception, thrown when an all-or-nothing batch is rejected.
+ * It carries every rejected item, not just the first one.
+ */
+public class BatchConflictException extends AlreadyExistsEntityException {
+
+    private final List<BatchConflict> conflicts;
+
+    /**
+     * Instantiates a new Batch conflict exception.
+     *
+     * @param msg       the msg
+     * @param conflicts the rejected items
+     */
+    public BatchConflictException(String msg, List<BatchConflict> conflicts) {
+        super(msg);
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    public List<BatchConflict> getConflicts() {
+        return conflicts;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tenniscourts.exceptions;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@NoArgsConstructor
+@Getter
+@Setter
+public class BatchErrorDetails extends ErrorDetails {
+    private List<BatchConflict> conflicts;
+
+    public BatchErrorDetails(LocalDateTime timestamp, String message, String details, List<BatchConflict> conflicts) {
+        super(timestamp, message, details);
+        this.conflicts = conflicts;
+    }
+}
@@ -0,0 +1,17 @@
+package com.tenniscourts.exceptions;
+
+import lombok.Getter;
+
+/**
+ * A request refused by admission control, to be retried after {@link #getRetryAfterSeconds()}.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String msg, long retryAfterSeconds) {
+        super(msg);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,6 +1,34 @@
 package com.tenniscourts.guests;
 
+import com.tenniscourts.config.cache.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
+/**
+ * Writes evict the row from the {@value CacheConfig#GUESTS} cache once they commit. It holds DTO copies filled
+ * by the service, never entities.
+ */
 public interface GuestRepository extends JpaRepository<Guest, Long> {
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.GUESTS, key = "#result.id")
+    <S extends Guest> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.GUESTS, key = "#result.id")
+    <S extends Guest> S saveAndFlush(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.GUESTS, allEntries = true)
+    <S extends Guest> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.GUESTS, key = "#p0")
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.GUESTS, key = "#p0.id")
+    void delete(Guest entity);
 }
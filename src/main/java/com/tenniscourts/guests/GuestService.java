@@ -0,0 +1,36 @@
+package com.tenniscourts.guests;
+
+import com.tenniscourts.config.cache.CacheConfig;
+import com.tenniscourts.exceptions.EntityNotFoundException;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@AllArgsConstructor
+public class GuestService {
+
+    private final GuestRepository guestRepository;
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Looks the guest up in the {@value CacheConfig#GUESTS} cache first. The cached copy is shared
+     * between threads, so every caller gets its own.
+     */
+    @Transactional(readOnly = true)
+    public GuestDTO findGuestById(Long id) {
+        var cache = cacheManager.getCache(CacheConfig.GUESTS);
+        var guest = cache.get(id, GuestDTO.class);
+        if (guest == null) {
+            guest = guestRepository.findById(id)
+                    .map(found -> GuestDTO.builder().id(found.getId()).name(found.getName()).build())
+                    .orElseThrow(() -> {
+                        throw new EntityNotFoundException("Guest not found.");
+                    });
+            cache.put(id, guest);
+        }
+        return GuestDTO.builder().id(guest.getId()).name(guest.getName()).build();
+    }
+}
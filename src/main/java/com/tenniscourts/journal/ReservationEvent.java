@@ -0,0 +1,69 @@
+package com.tenniscourts.journal;
+
+import com.tenniscourts.config.persistence.PooledSequenceGenerator;
+import com.tenniscourts.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row of a reservation state change, written in the transaction that made the change
+ * and deleted once {@link ReservationEventRelay} has appended it to the journal. Not audited:
+ * it only lives until the next relay pass.
+ */
+@Entity
+@Table(name = "reservation_event")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = PooledSequenceGenerator.NAME)
+    @GenericGenerator(name = PooledSequenceGenerator.NAME, type = PooledSequenceGenerator.class)
+    private Long id;
+
+    @Column(name = "type")
+    @NotNull
+    private ReservationEventType type;
+
+    @Column
+    @NotNull
+    private Long reservationId;
+
+    @Column
+    private Long previousReservationId;
+
+    @Column
+    @NotNull
+    private Long guestId;
+
+    @Column
+    @NotNull
+    private Long scheduleId;
+
+    @Column(name = "value_minor_units")
+    @NotNull
+    private Money value;
+
+    @Column(name = "refund_value_minor_units")
+    private Money refundValue;
+
+    @Column
+    @NotNull
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,39 @@
+package com.tenniscourts.journal;
+
+import com.tenniscourts.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationEventDTO {
+
+    /**
+     * Position in the journal, set when the event is read back.
+     */
+    private Long sequence;
+
+    private Long eventId;
+
+    private ReservationEventType type;
+
+    private Long reservationId;
+
+    private Long previousReservationId;
+
+    private Long guestId;
+
+    private Long scheduleId;
+
+    private Money value;
+
+    private Money refundValue;
+
+    private LocalDateTime occurredAt;
+}
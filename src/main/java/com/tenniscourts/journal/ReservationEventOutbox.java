@@ -0,0 +1,70 @@
+package com.tenniscourts.journal;
+
+import com.tenniscourts.reservations.Reservation;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Records reservation state changes as {@link ReservationEvent} rows in the transaction that
+ * makes them, so an event reaches the journal only if the change was committed.
+ */
+@Component
+@AllArgsConstructor
+public class ReservationEventOutbox {
+
+    private final ReservationEventRepository reservationEventRepository;
+
+    private final ReservationEventRelay reservationEventRelay;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void booked(Collection<Reservation> reservations) {
+        var now = LocalDateTime.now();
+        reservationEventRepository.saveAll(reservations.stream()
+                .map(reservation -> this.event(ReservationEventType.BOOKED, reservation, now).build())
+                .toList());
+        this.relayAfterCommit();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void cancelled(Reservation reservation) {
+        reservationEventRepository.save(this.event(ReservationEventType.CANCELLED, reservation, LocalDateTime.now())
+                .refundValue(reservation.getRefundValue())
+                .build());
+        this.relayAfterCommit();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rescheduled(Reservation previousReservation, Reservation reservation) {
+        reservationEventRepository.save(this.event(ReservationEventType.RESCHEDULED, reservation, LocalDateTime.now())
+                .previousReservationId(previousReservation.getId())
+                .refundValue(previousReservation.getRefundValue())
+                .build());
+        this.relayAfterCommit();
+    }
+
+    private ReservationEvent.ReservationEventBuilder event(ReservationEventType type, Reservation reservation, LocalDateTime occurredAt) {
+        return ReservationEvent.builder()
+                .type(type)
+                .reservationId(reservation.getId())
+                .guestId(reservation.getGuest().getId())
+                .scheduleId(reservation.getSchedule().getId())
+                .value(reservation.getValue())
+                .occurredAt(occurredAt);
+    }
+
+    private void relayAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reservationEventRelay.wakeUp();
+            }
+        });
+    }
+}
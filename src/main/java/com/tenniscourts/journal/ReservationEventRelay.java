@@ -0,0 +1,149 @@
+package com.tenniscourts.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+/**
+ * Moves committed {@link ReservationEvent} rows from the outbox table to the
+ * {@link ReservationJournal}, from a single background thread, in id order, up to
+ * {@code tenniscourts.journal.relay.batch-size} rows at a time.
+ * <p>
+ * A batch is appended and forced to disk before its rows are deleted. When the process stops
+ * in between, the rows are relayed again on restart; the event ids of the last batch are read
+ * back from the journal at startup, so they are deleted without being appended twice. The
+ * thread is woken when an outbox transaction commits and otherwise polls every
+ * {@code tenniscourts.journal.relay.poll-interval-ms}.
+ */
+@Component
+@Log
+public class ReservationEventRelay {
+
+    private final ReservationEventRepository reservationEventRepository;
+
+    private final ReservationJournal reservationJournal;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final int batchSize;
+
+    private final long pollIntervalMillis;
+
+    /**
+     * Events appended to the journal whose rows may not be deleted yet. Only used by the worker.
+     */
+    private final Set<Long> journaledEventIds = new HashSet<>();
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    public ReservationEventRelay(ReservationEventRepository reservationEventRepository,
+                                 ReservationJournal reservationJournal,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${tenniscourts.journal.relay.batch-size:500}") int batchSize,
+                                 @Value("${tenniscourts.journal.relay.poll-interval-ms:1000}") long pollIntervalMillis) {
+        this.reservationEventRepository = reservationEventRepository;
+        this.reservationJournal = reservationJournal;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        long from = Math.max(1L, reservationJournal.getLastSequence() - batchSize + 1);
+        for (ReservationJournal.Entry entry : reservationJournal.read(from, batchSize)) {
+            journaledEventIds.add(objectMapper.readValue(entry.getPayload(), ReservationEventDTO.class).getEventId());
+        }
+        running = true;
+        worker = new Thread(this::relayLoop, "reservation-event-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public void wakeUp() {
+        LockSupport.unpark(worker);
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                if (this.relayBatch() < batchSize) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis));
+                }
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Could not relay reservation events to the journal.", e);
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis));
+            }
+        }
+    }
+
+    private int relayBatch() {
+        var events = transactionTemplate.execute(status ->
+                reservationEventRepository.findAllByOrderById(PageRequest.of(0, batchSize)));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        var eventIds = new ArrayList<Long>(events.size());
+        var payloads = new ArrayList<byte[]>(events.size());
+        for (ReservationEvent event : events) {
+            eventIds.add(event.getId());
+            if (!journaledEventIds.contains(event.getId())) {
+                payloads.add(this.serialize(event));
+            }
+        }
+        if (!payloads.isEmpty()) {
+            reservationJournal.append(payloads);
+        }
+        // Kept until the rows are deleted, so a failed delete is not followed by a second append.
+        journaledEventIds.addAll(eventIds);
+        transactionTemplate.executeWithoutResult(status -> reservationEventRepository.deleteAllByIdInBatch(eventIds));
+        eventIds.forEach(journaledEventIds::remove);
+        return events.size();
+    }
+
+    private byte[] serialize(ReservationEvent event) {
+        try {
+            return objectMapper.writeValueAsBytes(ReservationEventDTO.builder()
+                    .eventId(event.getId())
+                    .type(event.getType())
+                    .reservationId(event.getReservationId())
+                    .previousReservationId(event.getPreviousReservationId())
+                    .guestId(event.getGuestId())
+                    .scheduleId(event.getScheduleId())
+                    .value(event.getValue())
+                    .refundValue(event.getRefundValue())
+                    .occurredAt(event.getOccurredAt())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize reservation event " + event.getId() + ".", e);
+        }
+    }
+}
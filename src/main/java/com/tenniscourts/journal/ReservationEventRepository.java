@@ -0,0 +1,11 @@
+package com.tenniscourts.journal;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ReservationEventRepository extends JpaRepository<ReservationEvent, Long> {
+
+    List<ReservationEvent> findAllByOrderById(Pageable pageable);
+}
@@ -0,0 +1,7 @@
+package com.tenniscourts.journal;
+
+public enum ReservationEventType {
+    BOOKED,
+    CANCELLED,
+    RESCHEDULED
+}
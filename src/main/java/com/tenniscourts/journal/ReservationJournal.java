@@ -0,0 +1,312 @@
+package com.tenniscourts.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.java.Log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of opaque records numbered by a sequence starting at 1, on memory-mapped
+ * segment files named after the sequence of their first record.
+ * <p>
+ * A record is a 16 byte header, holding the payload length, the CRC32C of the payload and the
+ * sequence, followed by the payload. A segment ends at the first header that is zero, fails its
+ * checksum or breaks the sequence, which is where a write cut short by a crash is discarded when
+ * the journal is opened again.
+ * <p>
+ * There is one writer, {@link #append(List)}, which forces the records to disk before returning.
+ * Readers never lock: a segment publishes how far it is written through a volatile field, and
+ * keeps the position of every {@value #INDEX_STRIDE}th record to start reading near any
+ * sequence. Only the newest {@code maxSegments} segments are kept.
+ */
+@Log
+public class ReservationJournal implements Closeable {
+
+    static final int HEADER_BYTES = 16;
+
+    static final int INDEX_STRIDE = 64;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+
+    private final int segmentBytes;
+
+    private final int maxSegments;
+
+    private final FileChannel lockChannel;
+
+    private final FileLock lock;
+
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private Segment active;
+
+    private volatile long lastSequence;
+
+    /**
+     * Completed by the next append, then replaced. Guarded by the journal's monitor.
+     */
+    private CompletableFuture<Long> nextAppend = new CompletableFuture<>();
+
+    public ReservationJournal(Path directory, int segmentBytes, int maxSegments) throws IOException {
+        if (segmentBytes <= HEADER_BYTES || maxSegments <= 0) {
+            throw new IllegalArgumentException("Journal segments must be larger than a record header and at least one must be kept.");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        this.lockChannel = FileChannel.open(directory.resolve("journal.lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.lock = this.tryLock();
+
+        try (var files = Files.list(directory)) {
+            for (Path path : files.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList()) {
+                var name = path.getFileName().toString();
+                long firstSequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(firstSequence, this.openSegment(path, firstSequence));
+            }
+        }
+        if (segments.isEmpty()) {
+            active = this.createSegment(1L);
+            lastSequence = 0L;
+        } else {
+            active = segments.lastEntry().getValue();
+            lastSequence = active.firstSequence + active.count - 1;
+        }
+        log.info("Reservation journal opened in " + directory + " with " + segments.size() + " segments, last sequence " + lastSequence + ".");
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Appends the payloads in order and forces them to disk.
+     *
+     * @return the sequence of the last record appended
+     */
+    public synchronized long append(List<byte[]> payloads) {
+        int forceFrom = active.limit;
+        for (byte[] payload : payloads) {
+            int recordBytes = HEADER_BYTES + payload.length;
+            if (recordBytes > segmentBytes) {
+                throw new IllegalArgumentException("Journal record of " + payload.length + " bytes does not fit in a segment.");
+            }
+            if (active.limit + recordBytes > active.buffer.capacity()) {
+                active.force(forceFrom);
+                this.roll();
+                forceFrom = 0;
+            }
+            active.write(lastSequence + 1, payload);
+            lastSequence++;
+        }
+        active.force(forceFrom);
+        var appended = nextAppend;
+        nextAppend = new CompletableFuture<>();
+        appended.complete(lastSequence);
+        return lastSequence;
+    }
+
+    /**
+     * Reads up to {@code limit} records starting at {@code fromSequence}, or at the oldest one
+     * still kept if that is later.
+     */
+    public List<Entry> read(long fromSequence, int limit) {
+        var entries = new ArrayList<Entry>(Math.min(limit, 1024));
+        var first = segments.floorKey(fromSequence);
+        var candidates = first == null ? segments : segments.tailMap(first, true);
+        for (Segment segment : candidates.values()) {
+            if (entries.size() >= limit) {
+                break;
+            }
+            segment.read(fromSequence, limit, entries);
+        }
+        return entries;
+    }
+
+    /**
+     * Completes with the last sequence once a record after {@code sequence} is appended, at once
+     * if there already is one. Each caller gets its own copy to time out or cancel. It is
+     * completed by the writer while it holds the journal, so only trivial stages should run on
+     * it synchronously.
+     */
+    public synchronized CompletableFuture<Long> appendedAfter(long sequence) {
+        return lastSequence > sequence ? CompletableFuture.completedFuture(lastSequence) : nextAppend.copy();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        active.force(0);
+        lock.release();
+        lockChannel.close();
+    }
+
+    private FileLock tryLock() throws IOException {
+        FileLock fileLock;
+        try {
+            fileLock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null;
+        }
+        if (fileLock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("Reservation journal in " + directory + " is already open.");
+        }
+        return fileLock;
+    }
+
+    private void roll() {
+        try {
+            active = this.createSegment(lastSequence + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        while (segments.size() > maxSegments) {
+            var oldest = segments.pollFirstEntry().getValue();
+            try {
+                // Readers still scanning it keep their mapping, the file is only unlinked.
+                Files.deleteIfExists(oldest.path);
+            } catch (IOException e) {
+                log.warning("Could not delete journal segment " + oldest.path + ": " + e);
+            }
+        }
+    }
+
+    private Segment createSegment(long firstSequence) throws IOException {
+        var segment = this.openSegment(directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX)), firstSequence);
+        segments.put(firstSequence, segment);
+        return segment;
+    }
+
+    private Segment openSegment(Path path, long firstSequence) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var size = (int) Math.max(channel.size(), segmentBytes);
+            var segment = new Segment(path, firstSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            segment.recover();
+            return segment;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+
+        private final long sequence;
+
+        private final byte[] payload;
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+
+        private final long firstSequence;
+
+        private final MappedByteBuffer buffer;
+
+        private final int[] index;
+
+        private volatile int count;
+
+        private volatile int limit;
+
+        private Segment(Path path, long firstSequence, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSequence = firstSequence;
+            this.buffer = buffer;
+            this.index = new int[buffer.capacity() / (HEADER_BYTES * INDEX_STRIDE) + 1];
+        }
+
+        private void recover() {
+            int position = 0;
+            int records = 0;
+            while (position + HEADER_BYTES <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + HEADER_BYTES + length > buffer.capacity()
+                        || buffer.getLong(position + 8) != firstSequence + records
+                        || buffer.getInt(position + 4) != checksum(buffer, position + HEADER_BYTES, length)) {
+                    break;
+                }
+                if (records % INDEX_STRIDE == 0) {
+                    index[records / INDEX_STRIDE] = position;
+                }
+                position += HEADER_BYTES + length;
+                records++;
+            }
+            if (position + Integer.BYTES <= buffer.capacity() && buffer.getInt(position) != 0) {
+                log.warning("Discarding an incomplete record at " + position + " of journal segment " + path + ".");
+                for (int i = position; i < buffer.capacity(); i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                buffer.force();
+            }
+            count = records;
+            limit = position;
+        }
+
+        private void write(long sequence, byte[] payload) {
+            int position = limit;
+            buffer.put(position + HEADER_BYTES, payload);
+            buffer.putInt(position + 4, checksum(buffer, position + HEADER_BYTES, payload.length));
+            buffer.putLong(position + 8, sequence);
+            buffer.putInt(position, payload.length);
+            if (count % INDEX_STRIDE == 0) {
+                index[count / INDEX_STRIDE] = position;
+            }
+            // Published in this order: a reader sees the index entry of every record it counts,
+            // and the bytes of every record below the limit.
+            count = count + 1;
+            limit = position + HEADER_BYTES + payload.length;
+        }
+
+        private void read(long fromSequence, int maxEntries, List<Entry> entries) {
+            int records = count;
+            int end = limit;
+            long offset = Math.max(0L, fromSequence - firstSequence);
+            if (offset >= records) {
+                return;
+            }
+            int stride = (int) (offset / INDEX_STRIDE);
+            int position = index[stride];
+            long sequence = firstSequence + (long) stride * INDEX_STRIDE;
+            while (position < end && entries.size() < maxEntries) {
+                int length = buffer.getInt(position);
+                if (sequence >= fromSequence) {
+                    var payload = new byte[length];
+                    buffer.get(position + HEADER_BYTES, payload);
+                    entries.add(new Entry(sequence, payload));
+                }
+                position += HEADER_BYTES + length;
+                sequence++;
+            }
+        }
+
+        private void force(int from) {
+            if (limit > from) {
+                buffer.force(from, limit - from);
+            }
+        }
+
+        private static int checksum(MappedByteBuffer buffer, int position, int length) {
+            var crc = new CRC32C();
+            crc.update(buffer.slice(position, length));
+            return (int) crc.getValue();
+        }
+    }
+}
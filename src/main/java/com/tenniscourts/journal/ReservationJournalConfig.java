@@ -0,0 +1,24 @@
+package com.tenniscourts.journal;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Opens the reservation journal in {@code tenniscourts.journal.dir}, with segments of
+ * {@code tenniscourts.journal.segment-bytes} and at most {@code tenniscourts.journal.max-segments}
+ * of them kept.
+ */
+@Configuration
+public class ReservationJournalConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReservationJournal reservationJournal(@Value("${tenniscourts.journal.dir:${user.home}/tennisCourts-journal}") Path directory,
+                                                 @Value("${tenniscourts.journal.segment-bytes:67108864}") int segmentBytes,
+                                                 @Value("${tenniscourts.journal.max-segments:64}") int maxSegments) throws IOException {
+        return new ReservationJournal(directory, segmentBytes, maxSegments);
+    }
+}
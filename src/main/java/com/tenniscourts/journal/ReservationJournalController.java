@@ -0,0 +1,44 @@
+package com.tenniscourts.journal;
+
+import com.tenniscourts.config.BaseRestController;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CompletionException;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("/reservation/journal")
+public class ReservationJournalController extends BaseRestController {
+
+    /**
+     * Added to the wait for the request timeout, which only fires if the page is never completed.
+     */
+    private static final long TIMEOUT_MARGIN_MILLIS = 5000;
+
+    private final ReservationJournalService reservationJournalService;
+
+    @Operation(summary = "Return reservation events from a journal sequence on, waiting up to waitMs for new ones")
+    @GetMapping()
+    public DeferredResult<ResponseEntity<ReservationJournalPageDTO>> readEvents(@RequestParam(defaultValue = "1") long from,
+                                                                                @RequestParam(defaultValue = "100") int limit,
+                                                                                @RequestParam(defaultValue = "0") long waitMs) {
+        // The servlet thread is released while the page waits for new events.
+        var page = reservationJournalService.readEvents(from, limit, waitMs);
+        var result = new DeferredResult<ResponseEntity<ReservationJournalPageDTO>>(waitMs + TIMEOUT_MARGIN_MILLIS);
+        page.whenComplete((events, e) -> {
+            if (e == null) {
+                result.setResult(ResponseEntity.ok(events));
+            } else {
+                result.setErrorResult(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,22 @@
+package com.tenniscourts.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationJournalPageDTO {
+
+    private List<ReservationEventDTO> events;
+
+    /**
+     * Sequence to pass as {@code from} for the next page.
+     */
+    private Long nextSequence;
+}
@@ -0,0 +1,84 @@
+package com.tenniscourts.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class ReservationJournalService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static final long MAX_WAIT_MILLIS = 30000;
+
+    private final ReservationJournal reservationJournal;
+
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ReservationJournalService(ReservationJournal reservationJournal, ObjectMapper objectMapper) {
+        this.reservationJournal = reservationJournal;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the events from {@code fromSequence} on. When there is none yet, the page completes
+     * with the next one appended, or empty after {@code waitMillis}, so a consumer can follow the
+     * journal by passing back the returned {@code nextSequence}. No thread is held while waiting.
+     */
+    public CompletableFuture<ReservationJournalPageDTO> readEvents(long fromSequence, int limit, long waitMillis) {
+        if (fromSequence < 1 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Sequence must be positive and limit between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if (waitMillis < 0 || waitMillis > MAX_WAIT_MILLIS) {
+            throw new IllegalArgumentException("Wait must be between 0 and " + MAX_WAIT_MILLIS + " ms.");
+        }
+
+        var entries = reservationJournal.read(fromSequence, limit);
+        if (!entries.isEmpty() || waitMillis == 0) {
+            return CompletableFuture.completedFuture(this.toPage(fromSequence, entries));
+        }
+        // Read off the writer's thread, which completes the append while it holds the journal.
+        return reservationJournal.appendedAfter(fromSequence - 1)
+                .thenApply(lastSequence -> true)
+                .completeOnTimeout(false, waitMillis, TimeUnit.MILLISECONDS)
+                .thenApplyAsync(appended -> this.toPage(fromSequence,
+                        appended ? reservationJournal.read(fromSequence, limit) : List.of()), executor);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    private ReservationJournalPageDTO toPage(long fromSequence, List<ReservationJournal.Entry> entries) {
+        var events = new ArrayList<ReservationEventDTO>(entries.size());
+        for (ReservationJournal.Entry entry : entries) {
+            events.add(this.toEvent(entry));
+        }
+        return ReservationJournalPageDTO.builder()
+                .events(events)
+                .nextSequence(entries.isEmpty() ? fromSequence : entries.get(entries.size() - 1).getSequence() + 1)
+                .build();
+    }
+
+    private ReservationEventDTO toEvent(ReservationJournal.Entry entry) {
+        try {
+            var event = objectMapper.readValue(entry.getPayload(), ReservationEventDTO.class);
+            event.setSequence(entry.getSequence());
+            return event;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable journal record " + entry.getSequence() + ".", e);
+        }
+    }
+}
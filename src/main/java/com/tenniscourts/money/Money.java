@@ -0,0 +1,163 @@
+package com.tenniscourts.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * An amount of money held as a {@code long} count of minor units (cents) of its currency.
+ * <p>
+ * Arithmetic is plain {@code long} arithmetic with overflow checks and no rounding. Instances
+ * are immutable and zero is cached, so adding or subtracting zero, and a full refund, return an
+ * existing instance. Totals over many amounts go through {@link #sum}, which accumulates minor
+ * units and allocates only the result.
+ * {@link BigDecimal} is only used at the edges, to read or print a decimal amount.
+ */
+@Getter
+@EqualsAndHashCode
+@JsonSerialize(using = MoneySerializer.class)
+@JsonDeserialize(using = MoneyDeserializer.class)
+public final class Money implements Comparable<Money>, Serializable {
+
+    /**
+     * Currency of every amount stored by this application.
+     */
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    public static final Money ZERO = new Money(0L, DEFAULT_CURRENCY);
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L};
+
+    private final long minorUnits;
+
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    public static Money ofMinorUnits(long minorUnits) {
+        return ofMinorUnits(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    public static Money ofMinorUnits(long minorUnits, Currency currency) {
+        if (minorUnits == 0L && DEFAULT_CURRENCY.equals(currency)) {
+            return ZERO;
+        }
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money of(long majorUnits) {
+        return ofMinorUnits(Math.multiplyExact(majorUnits, scaleFactor(DEFAULT_CURRENCY)), DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Reads a decimal amount, which must not have more fraction digits than the currency.
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        try {
+            return ofMinorUnits(amount.movePointRight(fractionDigits(currency)).longValueExact(), currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString() + " is not a valid " + currency + " amount.");
+        }
+    }
+
+    public static Money sum(Iterable<Money> amounts) {
+        var iterator = amounts.iterator();
+        if (!iterator.hasNext()) {
+            return ZERO;
+        }
+        var first = iterator.next();
+        long total = first.minorUnits;
+        while (iterator.hasNext()) {
+            var amount = iterator.next();
+            first.checkSameCurrency(amount);
+            total = Math.addExact(total, amount.minorUnits);
+        }
+        return ofMinorUnits(total, first.currency);
+    }
+
+    public Money plus(Money other) {
+        this.checkSameCurrency(other);
+        if (other.minorUnits == 0L) {
+            return this;
+        }
+        if (minorUnits == 0L) {
+            return other;
+        }
+        return ofMinorUnits(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        this.checkSameCurrency(other);
+        if (other.minorUnits == 0L) {
+            return this;
+        }
+        return ofMinorUnits(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0L;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    public double toDouble() {
+        return (double) minorUnits / scaleFactor(currency);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        this.checkSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    /**
+     * The plain decimal amount, for example {@code 10.00}, without the currency.
+     */
+    @Override
+    public String toString() {
+        int digits = fractionDigits(currency);
+        if (digits == 0) {
+            return Long.toString(minorUnits);
+        }
+        long scale = POWERS_OF_TEN[digits];
+        var amount = new StringBuilder(24);
+        if (minorUnits < 0) {
+            amount.append('-');
+        }
+        long major = Math.abs(minorUnits / scale);
+        long minor = Math.abs(minorUnits % scale);
+        amount.append(major).append('.');
+        for (long power = scale / 10; power > minor && power > 1; power /= 10) {
+            amount.append('0');
+        }
+        return amount.append(minor).toString();
+    }
+
+    private void checkSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot combine " + currency + " and " + other.currency + " amounts.");
+        }
+    }
+
+    private static int fractionDigits(Currency currency) {
+        return Math.max(currency.getDefaultFractionDigits(), 0);
+    }
+
+    private static long scaleFactor(Currency currency) {
+        return POWERS_OF_TEN[fractionDigits(currency)];
+    }
+}
@@ -0,0 +1,29 @@
+package com.tenniscourts.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link Money} as a BIGINT column of minor units. Every stored amount is in
+ * {@link Money#DEFAULT_CURRENCY}, so the currency is not persisted, and sums in SQL stay
+ * exact integer sums.
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Money money) {
+        if (money == null) {
+            return null;
+        }
+        if (!Money.DEFAULT_CURRENCY.equals(money.getCurrency())) {
+            throw new IllegalArgumentException("Only " + Money.DEFAULT_CURRENCY + " amounts can be stored.");
+        }
+        return money.getMinorUnits();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(Long minorUnits) {
+        return minorUnits == null ? null : Money.ofMinorUnits(minorUnits);
+    }
+}
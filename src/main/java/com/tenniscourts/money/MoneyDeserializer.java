@@ -0,0 +1,24 @@
+package com.tenniscourts.money;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Reads a JSON number or numeric string as a {@link Money} in {@link Money#DEFAULT_CURRENCY}.
+ */
+public class MoneyDeserializer extends StdDeserializer<Money> {
+
+    public MoneyDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        var amount = parser.currentToken().isNumeric() ? parser.getDecimalValue() : new BigDecimal(parser.getValueAsString().trim());
+        return Money.of(amount, Money.DEFAULT_CURRENCY);
+    }
+}
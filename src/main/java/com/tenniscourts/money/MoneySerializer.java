@@ -0,0 +1,23 @@
+package com.tenniscourts.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link Money} as a plain JSON number such as {@code 10.00}, the shape the API
+ * used for {@code BigDecimal} amounts.
+ */
+public class MoneySerializer extends StdSerializer<Money> {
+
+    public MoneySerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeNumber(value.toString());
+    }
+}
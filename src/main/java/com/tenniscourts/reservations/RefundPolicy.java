@@ -0,0 +1,25 @@
+package com.tenniscourts.reservations;
+
+import com.tenniscourts.money.Money;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * What a cancelled or rescheduled reservation gives back: its whole value when its slot starts
+ * at least 24 hours later, nothing otherwise.
+ */
+public final class RefundPolicy {
+
+    private RefundPolicy() {}
+
+    public static Money refundValue(Reservation reservation, LocalDateTime now) {
+        long hours = ChronoUnit.HOURS.between(now, reservation.getSchedule().getStartDateTime());
+
+        if (hours >= 24) {
+            return reservation.getValue();
+        }
+
+        return Money.ZERO;
+    }
+}
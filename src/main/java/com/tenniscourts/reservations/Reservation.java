@@ -2,6 +2,7 @@ package com.tenniscourts.reservations;
 
 import com.tenniscourts.config.persistence.BaseEntity;
 import com.tenniscourts.guests.Guest;
+import com.tenniscourts.money.Money;
 import com.tenniscourts.schedules.Schedule;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,16 +11,17 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import javax.persistence.Entity;
-import javax.persistence.ManyToOne;
-import javax.persistence.OneToOne;
-import javax.persistence.Table;
-import javax.validation.constraints.NotNull;
-import java.math.BigDecimal;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
 
 
 @Entity
-@Table
+@Table(indexes = @Index(name = "idx_reservation_schedule_status", columnList = "schedule_id, reservation_status"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -28,18 +30,21 @@ import java.math.BigDecimal;
 @Builder
 public class Reservation extends BaseEntity<Long> {
 
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Guest guest;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull
     private Schedule schedule;
 
+    @Column(name = "value_minor_units")
     @NotNull
-    private BigDecimal value;
+    private Money value;
 
+    @Column(name = "reservation_status")
     @NotNull
     private ReservationStatus reservationStatus = ReservationStatus.READY_TO_PLAY;
 
-    private BigDecimal refundValue;
+    @Column(name = "refund_value_minor_units")
+    private Money refundValue;
 }
@@ -0,0 +1,23 @@
+package com.tenniscourts.reservations;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationBatchResultDTO {
+
+    private Long guestId;
+
+    private int bookedSlots;
+
+    private List<ReservationDTO> reservations;
+}
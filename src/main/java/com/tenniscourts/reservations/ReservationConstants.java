@@ -1,9 +1,9 @@
 package com.tenniscourts.reservations;
 
-import java.math.BigDecimal;
+import com.tenniscourts.money.Money;
 
 public class ReservationConstants {
     private ReservationConstants() {}
 
-    public static final BigDecimal DEFAULT_VALUE = BigDecimal.valueOf(10);
+    public static final Money DEFAULT_VALUE = Money.of(10);
 }
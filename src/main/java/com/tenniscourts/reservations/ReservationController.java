@@ -1,11 +1,20 @@
 package com.tenniscourts.reservations;
 
 import com.tenniscourts.config.BaseRestController;
-import io.swagger.annotations.ApiOperation;
+import com.tenniscourts.config.persistence.ReplicaRoutingContext;
+import com.tenniscourts.config.web.AdmissionControl;
+import com.tenniscourts.config.web.EntityVersions;
+import com.tenniscourts.config.web.IdempotencyStore;
+import io.swagger.v3.oas.annotations.Operation;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+
 @AllArgsConstructor
 @RestController
 @RequestMapping("/reservation")
@@ -13,27 +22,61 @@ public class ReservationController extends BaseRestController {
 
     private final ReservationService reservationService;
 
-    @ApiOperation(value = "Book reservation")
+    private final EntityVersions entityVersions;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final AdmissionControl admissionControl;
+
+    @Operation(summary = "Book reservation")
     @PostMapping()
-    public ResponseEntity<Void> bookReservation(@RequestBody CreateReservationRequestDTO createReservationRequestDTO) {
-        return ResponseEntity.created(locationByEntity(reservationService.bookReservation(createReservationRequestDTO).getId())).build();
+    public ResponseEntity<Void> bookReservation(@RequestBody CreateReservationRequestDTO createReservationRequestDTO,
+                                                @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                                HttpServletRequest httpServletRequest) {
+        admissionControl.admitGuest(createReservationRequestDTO.getGuestId());
+        var request = "book:" + createReservationRequestDTO.getGuestId() + ":" + createReservationRequestDTO.getScheduleId();
+        return idempotencyStore.execute(httpServletRequest, idempotencyKey, request, () ->
+                ResponseEntity.created(locationByEntity(reservationService.bookReservation(createReservationRequestDTO).getId())).build());
+    }
+
+    @Operation(summary = "Book several schedules for one guest, all or none")
+    @PostMapping("batch")
+    public ResponseEntity<ReservationBatchResultDTO> bookReservationsBatch(@RequestBody @Valid CreateReservationBatchRequestDTO createReservationBatchRequestDTO,
+                                                                           @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                                                           HttpServletRequest httpServletRequest) {
+        admissionControl.admitGuest(createReservationBatchRequestDTO.getGuestId());
+        var request = "book-batch:" + createReservationBatchRequestDTO.getGuestId() + ":" + createReservationBatchRequestDTO.getScheduleIds();
+        return idempotencyStore.execute(httpServletRequest, idempotencyKey, request, () ->
+                ResponseEntity.status(HttpStatus.CREATED).body(reservationService.bookReservationsBatch(createReservationBatchRequestDTO)));
     }
 
-    @ApiOperation(value = "Return reservation by id")
+    @Operation(summary = "Return reservation by id")
     @GetMapping("{reservationId}")
-    public ResponseEntity<ReservationDTO> findReservation(@PathVariable Long reservationId) {
-        return ResponseEntity.ok(reservationService.findReservation(reservationId));
+    public ResponseEntity<ReservationDTO> findReservation(@PathVariable Long reservationId,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        var eTag = entityVersions.eTag("reservation", reservationId, entityVersions.reservationVersion(reservationId));
+        if (isNotModified(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        // The version is the primary's, so the body it tags must not come from a lagging replica.
+        return ResponseEntity.ok().eTag(eTag).body(ReplicaRoutingContext.onPrimary(() -> reservationService.findReservation(reservationId)));
     }
 
-    @ApiOperation(value = "Cancel a reservation")
+    @Operation(summary = "Cancel a reservation")
     @PostMapping("{reservationId}/cancel")
-    public ResponseEntity<ReservationDTO> cancelReservation(@PathVariable Long reservationId) {
-        return ResponseEntity.ok(reservationService.cancelReservation(reservationId));
+    public ResponseEntity<ReservationDTO> cancelReservation(@PathVariable Long reservationId,
+                                                            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                                            HttpServletRequest httpServletRequest) {
+        return idempotencyStore.execute(httpServletRequest, idempotencyKey, "cancel:" + reservationId, () ->
+                ResponseEntity.ok(reservationService.cancelReservation(reservationId)));
     }
 
-    @ApiOperation(value = "Reschedule a reservation with different schedule")
+    @Operation(summary = "Reschedule a reservation with different schedule")
     @PostMapping("{reservationId}/reschedule")
-    public ResponseEntity<ReservationDTO> rescheduleReservation(@PathVariable Long reservationId, @RequestParam Long scheduleId) {
-        return ResponseEntity.ok(reservationService.rescheduleReservation(reservationId, scheduleId));
+    public ResponseEntity<ReservationDTO> rescheduleReservation(@PathVariable Long reservationId, @RequestParam Long scheduleId,
+                                                                @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                                                HttpServletRequest httpServletRequest) {
+        return idempotencyStore.execute(httpServletRequest, idempotencyKey, "reschedule:" + reservationId + ":" + scheduleId, () ->
+                ResponseEntity.ok(reservationService.rescheduleReservation(reservationId, scheduleId)));
     }
 }
@@ -1,6 +1,7 @@
 package com.tenniscourts.reservations;
 
 import com.tenniscourts.guests.GuestDTO;
+import com.tenniscourts.money.Money;
 import com.tenniscourts.schedules.ScheduleDTO;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,8 +10,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import javax.validation.constraints.NotNull;
-import java.math.BigDecimal;
+import jakarta.validation.constraints.NotNull;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -30,9 +30,9 @@ public class ReservationDTO {
 
     private ReservationDTO previousReservation;
 
-    private BigDecimal refundValue;
+    private Money refundValue;
 
-    private BigDecimal value;
+    private Money value;
 
     @NotNull
     private Long scheduledId;
@@ -0,0 +1,46 @@
+package com.tenniscourts.reservations;
+
+import com.tenniscourts.config.persistence.ArchivedEntity;
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.money.Money;
+import com.tenniscourts.schedules.ScheduleHistory;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+/**
+ * A {@link Reservation} archived together with its schedule.
+ */
+@Entity
+@Immutable
+@Table
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ReservationHistory extends ArchivedEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "guest_id")
+    private Guest guest;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "schedule_id")
+    private ScheduleHistory schedule;
+
+    @Column(name = "value_minor_units")
+    private Money value;
+
+    @Column(name = "refund_value_minor_units")
+    private Money refundValue;
+
+    @Column
+    private ReservationStatus reservationStatus;
+}
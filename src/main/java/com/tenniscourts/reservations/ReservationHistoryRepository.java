@@ -0,0 +1,12 @@
+package com.tenniscourts.reservations;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ReservationHistoryRepository extends JpaRepository<ReservationHistory, Long> {
+
+    @EntityGraph(attributePaths = {"guest", "schedule", "schedule.tennisCourt"})
+    Optional<ReservationHistory> findWithGuestAndScheduleById(Long id);
+}
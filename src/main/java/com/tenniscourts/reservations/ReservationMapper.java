@@ -1,10 +1,13 @@
 package com.tenniscourts.reservations;
 
 import org.mapstruct.InheritInverseConfiguration;
+import org.mapstruct.Builder;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+import java.util.List;
+
+@Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
 public interface ReservationMapper {
 
     Reservation map(ReservationDTO source);
@@ -12,6 +15,10 @@ public interface ReservationMapper {
     @InheritInverseConfiguration
     ReservationDTO map(Reservation source);
 
+    List<ReservationDTO> map(List<Reservation> source);
+
+    ReservationDTO map(ReservationHistory source);
+
     @Mapping(target = "guest.id", source = "guestId")
     @Mapping(target = "schedule.id", source = "scheduleId")
     Reservation map(CreateReservationRequestDTO source);
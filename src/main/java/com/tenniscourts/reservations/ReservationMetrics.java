@@ -0,0 +1,50 @@
+package com.tenniscourts.reservations;
+
+import com.tenniscourts.money.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReservationMetrics {
+
+    private final Counter bookingConflicts;
+
+    private final Counter cancellations;
+
+    private final Counter reschedules;
+
+    private final DistributionSummary refunds;
+
+    public ReservationMetrics(MeterRegistry meterRegistry) {
+        this.bookingConflicts = Counter.builder("tenniscourts.reservations.booking.conflicts")
+                .description("Bookings rejected because the schedule was already booked")
+                .register(meterRegistry);
+        this.cancellations = Counter.builder("tenniscourts.reservations.cancellations")
+                .register(meterRegistry);
+        this.reschedules = Counter.builder("tenniscourts.reservations.reschedules")
+                .register(meterRegistry);
+        this.refunds = DistributionSummary.builder("tenniscourts.reservations.refunds")
+                .description("Refunded value of cancelled and rescheduled reservations")
+                .register(meterRegistry);
+    }
+
+    public void bookingConflict() {
+        bookingConflicts.increment();
+    }
+
+    public void cancelled() {
+        cancellations.increment();
+    }
+
+    public void rescheduled() {
+        reschedules.increment();
+    }
+
+    public void refunded(Money refundValue) {
+        if (refundValue.signum() > 0) {
+            refunds.record(refundValue.toDouble());
+        }
+    }
+}
@@ -1,14 +1,26 @@
 package com.tenniscourts.reservations;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
+    @EntityGraph(attributePaths = {"guest", "schedule", "schedule.tennisCourt"})
+    Optional<Reservation> findWithGuestAndScheduleById(Long id);
+
     List<Reservation> findBySchedule_Id(Long scheduleId);
 
+    boolean existsBySchedule_IdAndReservationStatus(Long scheduleId, ReservationStatus reservationStatus);
+
+    @Query("select r.schedule.id from Reservation r where r.schedule.id in ?1 and r.reservationStatus = ?2")
+    List<Long> findScheduleIdsBySchedule_IdInAndReservationStatus(Collection<Long> scheduleIds, ReservationStatus reservationStatus);
+
     List<Reservation> findByReservationStatusAndSchedule_StartDateTimeGreaterThanEqualAndSchedule_EndDateTimeLessThanEqual(ReservationStatus reservationStatus, LocalDateTime startDateTime, LocalDateTime endDateTime);
 
 //    List<Reservation> findByStartDateTimeGreaterThanEqualAndEndDateTimeLessThanEqualAndTennisCourt(LocalDateTime startDateTime, LocalDateTime endDateTime, TennisCourt tennisCourt);
@@ -1,72 +1,191 @@
 package com.tenniscourts.reservations;
 
+import com.tenniscourts.config.web.EntityVersions;
+import com.tenniscourts.exceptions.AlreadyExistsEntityException;
+import com.tenniscourts.exceptions.BatchConflict;
+import com.tenniscourts.exceptions.BatchConflictException;
 import com.tenniscourts.exceptions.EntityNotFoundException;
 import com.tenniscourts.guests.Guest;
 import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.guests.GuestService;
+import com.tenniscourts.journal.ReservationEventOutbox;
+import com.tenniscourts.money.Money;
 import com.tenniscourts.schedules.Schedule;
 import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.schedules.ScheduleService;
 import lombok.AllArgsConstructor;
 import lombok.extern.java.Log;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 @Log
 public class ReservationService {
 
+    public static final int MAX_BATCH_SLOTS = 100;
+
     private final ReservationRepository reservationRepository;
 
+    private final ReservationHistoryRepository reservationHistoryRepository;
+
     private final ReservationMapper reservationMapper;
 
     private final ScheduleRepository scheduleRepository;
 
     private final GuestRepository guestRepository;
 
+    private final GuestService guestService;
+
+    private final ScheduleService scheduleService;
+
+    private final ScheduleBookingLocks scheduleBookingLocks;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReservationMetrics reservationMetrics;
+
+    private final EntityVersions entityVersions;
+
+    private final ReservationEventOutbox reservationEventOutbox;
+
     public ReservationDTO bookReservation(CreateReservationRequestDTO createReservationRequestDTO) {
+        // The stripe is held until the booking transaction has committed, so a concurrent
+        // booking of the same schedule always sees the reservation written here.
+        return scheduleBookingLocks.withLock(createReservationRequestDTO.getScheduleId(),
+                () -> transactionTemplate.execute(status -> this.book(createReservationRequestDTO)));
+    }
+
+    private ReservationDTO book(CreateReservationRequestDTO createReservationRequestDTO) {
         var schedule = this.findScheduleByIdOrThrow(createReservationRequestDTO.getScheduleId());
-        this.findGuestByIdOrThrow(createReservationRequestDTO.getGuestId());
+        // Only checked: the reservation refers to the guest by id.
+        guestService.findGuestById(createReservationRequestDTO.getGuestId());
+        this.validateScheduleIsFree(schedule.getId());
         var reservation = reservationMapper.map(createReservationRequestDTO);
         reservation.setReservationStatus(ReservationStatus.READY_TO_PLAY);
         reservation.setValue(ReservationConstants.DEFAULT_VALUE);
         var createdReservation = reservationRepository.save(reservation);
         schedule.addReservation(createdReservation);
         scheduleRepository.save(schedule);
+        scheduleService.markScheduleBooked(schedule);
+        reservationEventOutbox.booked(List.of(createdReservation));
         return reservationMapper.map(createdReservation);
     }
 
+    public ReservationBatchResultDTO bookReservationsBatch(CreateReservationBatchRequestDTO createReservationBatchRequestDTO) {
+        var scheduleIds = createReservationBatchRequestDTO.getScheduleIds();
+        if (scheduleIds == null || scheduleIds.isEmpty() || scheduleIds.size() > MAX_BATCH_SLOTS) {
+            throw new IllegalArgumentException("A batch must book between 1 and " + MAX_BATCH_SLOTS + " schedules.");
+        }
+        if (scheduleIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Schedule ids must not be null.");
+        }
+        var guest = this.findGuestByIdOrThrow(createReservationBatchRequestDTO.getGuestId());
+
+        // All stripes are held until the batch has committed, the same guarantee a single booking gets.
+        var createdReservations = scheduleBookingLocks.withLocks(scheduleIds,
+                () -> transactionTemplate.execute(status -> this.bookBatch(guest, scheduleIds)));
+
+        return ReservationBatchResultDTO.builder()
+                .guestId(guest.getId())
+                .bookedSlots(createdReservations.size())
+                .reservations(reservationMapper.map(createdReservations))
+                .build();
+    }
+
+    private List<Reservation> bookBatch(Guest guest, List<Long> scheduleIds) {
+        var schedulesById = scheduleRepository.findWithTennisCourtByIdIn(scheduleIds).stream()
+                .collect(Collectors.toMap(Schedule::getId, Function.identity()));
+        var bookedScheduleIds = schedulesById.isEmpty() ? new HashSet<Long>() : new HashSet<>(reservationRepository
+                .findScheduleIdsBySchedule_IdInAndReservationStatus(schedulesById.keySet(), ReservationStatus.READY_TO_PLAY));
+
+        var requestedScheduleIds = new HashSet<Long>();
+        var conflicts = new ArrayList<BatchConflict>();
+        for (Long scheduleId : scheduleIds) {
+            if (!requestedScheduleIds.add(scheduleId)) {
+                conflicts.add(new BatchConflict(scheduleId, "Schedule requested more than once."));
+            } else if (!schedulesById.containsKey(scheduleId)) {
+                conflicts.add(new BatchConflict(scheduleId, "Schedule not found."));
+            } else if (bookedScheduleIds.contains(scheduleId)) {
+                reservationMetrics.bookingConflict();
+                conflicts.add(new BatchConflict(scheduleId, "Schedule already booked."));
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            throw new BatchConflictException(conflicts.size() + " of " + scheduleIds.size() + " schedules cannot be booked.", conflicts);
+        }
+
+        var reservations = new ArrayList<Reservation>(scheduleIds.size());
+        for (Long scheduleId : scheduleIds) {
+            var reservation = Reservation.builder()
+                    .guest(guest)
+                    .value(ReservationConstants.DEFAULT_VALUE)
+                    .reservationStatus(ReservationStatus.READY_TO_PLAY)
+                    .build();
+            schedulesById.get(scheduleId).addReservation(reservation);
+            reservations.add(reservation);
+        }
+        // Ids come from the pooled sequence, so the inserts are sent as JDBC batches at flush.
+        var createdReservations = reservationRepository.saveAll(reservations);
+        schedulesById.values().forEach(scheduleService::markScheduleBooked);
+        reservationEventOutbox.booked(createdReservations);
+        return createdReservations;
+    }
+
+    @Transactional(readOnly = true)
     public ReservationDTO findReservation(Long reservationId) {
         return this.findReservationByIdOrThrow(reservationId);
     }
 
     public ReservationDTO cancelReservation(Long reservationId) {
-        return reservationMapper.map(this.cancel(reservationId));
+        // Mapped before commit: the guest and schedule of the cancelled reservation are lazy.
+        var cancelledReservation = transactionTemplate.execute(status -> reservationMapper.map(this.cancel(reservationId)));
+        reservationMetrics.cancelled();
+        return cancelledReservation;
     }
 
     private Reservation cancel(Long reservationId) {
-        return reservationRepository.findById(reservationId).map(reservation -> {
+        return reservationRepository.findWithGuestAndScheduleById(reservationId).map(reservation -> {
 
             this.validateCancellation(reservation);
 
-            BigDecimal refundValue = getRefundValue(reservation);
-            return this.updateReservation(reservation, refundValue, ReservationStatus.CANCELLED);
+            Money refundValue = getRefundValue(reservation);
+            var cancelledReservation = this.updateReservation(reservation, refundValue, ReservationStatus.CANCELLED);
+            entityVersions.reservationChanged(reservationId);
+            reservationMetrics.refunded(refundValue);
+            scheduleService.markScheduleFree(reservation.getSchedule());
+            reservationEventOutbox.cancelled(cancelledReservation);
+            return cancelledReservation;
 
         }).orElseThrow(() -> {
             throw new EntityNotFoundException("Reservation not found.");
         });
     }
 
-    private Reservation updateReservation(Reservation reservation, BigDecimal refundValue, ReservationStatus status) {
+    private Reservation updateReservation(Reservation reservation, Money refundValue, ReservationStatus status) {
         reservation.setReservationStatus(status);
-        reservation.setValue(reservation.getValue().subtract(refundValue));
+        reservation.setValue(reservation.getValue().minus(refundValue));
         reservation.setRefundValue(refundValue);
 
         return reservationRepository.save(reservation);
     }
 
+    private void validateScheduleIsFree(Long scheduleId) {
+        if (reservationRepository.existsBySchedule_IdAndReservationStatus(scheduleId, ReservationStatus.READY_TO_PLAY)) {
+            reservationMetrics.bookingConflict();
+            throw new AlreadyExistsEntityException("Schedule already booked.");
+        }
+    }
+
     private void validateCancellation(Reservation reservation) {
         if (!ReservationStatus.READY_TO_PLAY.equals(reservation.getReservationStatus())) {
             throw new IllegalArgumentException("Cannot cancel/reschedule because it's not in ready to play status.");
@@ -77,41 +196,63 @@ public class ReservationService {
         }
     }
 
-    public BigDecimal getRefundValue(Reservation reservation) {
-        long hours = ChronoUnit.HOURS.between(LocalDateTime.now(), reservation.getSchedule().getStartDateTime());
-
-        if (hours >= 24) {
-            return reservation.getValue();
-        }
-
-        return BigDecimal.ZERO;
+    public Money getRefundValue(Reservation reservation) {
+        return RefundPolicy.refundValue(reservation, LocalDateTime.now());
     }
 
     public ReservationDTO rescheduleReservation(Long previousReservationId, Long scheduleId) {
-        var reservation = this.findReservationByIdOrThrow(previousReservationId);
-        Reservation previousReservation = reservationMapper.map(reservation);
-
-       this.findScheduleByIdOrThrow(scheduleId);
+        // Same guarantee as a booking: the stripe of the target schedule is held until commit.
+        var newReservation = scheduleBookingLocks.withLock(scheduleId,
+                () -> transactionTemplate.execute(status -> this.reschedule(previousReservationId, scheduleId)));
+        reservationMetrics.rescheduled();
+        return newReservation;
+    }
 
+    private ReservationDTO reschedule(Long previousReservationId, Long scheduleId) {
+        var previousReservation = reservationRepository.findWithGuestAndScheduleById(previousReservationId).orElseThrow(() -> {
+            throw new EntityNotFoundException("Reservation not found.");
+        });
+        var schedule = scheduleRepository.findWithTennisCourtById(scheduleId).orElseThrow(() -> {
+            throw new EntityNotFoundException("Schedule not found.");
+        });
         if (scheduleId.equals(previousReservation.getSchedule().getId())) {
             throw new IllegalArgumentException("Cannot reschedule to the same slot.");
         }
-        previousReservation = cancel(previousReservationId);
+        this.validateCancellation(previousReservation);
+        this.validateScheduleIsFree(scheduleId);
+
+        // The previous reservation is managed, its changes are flushed as one update at commit.
+        Money refundValue = getRefundValue(previousReservation);
         previousReservation.setReservationStatus(ReservationStatus.RESCHEDULED);
-        reservationRepository.save(previousReservation);
+        previousReservation.setValue(previousReservation.getValue().minus(refundValue));
+        previousReservation.setRefundValue(refundValue);
+        entityVersions.reservationChanged(previousReservationId);
 
-        ReservationDTO newReservation = bookReservation(CreateReservationRequestDTO.builder()
-                .guestId(previousReservation.getGuest().getId())
-                .scheduleId(scheduleId)
-                .build());
+        var reservation = Reservation.builder()
+                .guest(previousReservation.getGuest())
+                .value(ReservationConstants.DEFAULT_VALUE)
+                .reservationStatus(ReservationStatus.READY_TO_PLAY)
+                .build();
+        schedule.addReservation(reservation);
+        var createdReservation = reservationRepository.save(reservation);
+
+        reservationMetrics.refunded(refundValue);
+        scheduleService.markScheduleFree(previousReservation.getSchedule());
+        scheduleService.markScheduleBooked(schedule);
+        reservationEventOutbox.rescheduled(previousReservation, createdReservation);
+
+        var newReservation = reservationMapper.map(createdReservation);
         newReservation.setPreviousReservation(reservationMapper.map(previousReservation));
         return newReservation;
     }
 
     private ReservationDTO findReservationByIdOrThrow(Long reservationId) {
-        return reservationRepository.findById(reservationId).map(reservationMapper::map).orElseThrow(() -> {
-            throw new EntityNotFoundException("Reservation not found.");
-        });
+        // Reservations past the archival horizon are only left in the history table.
+        return reservationRepository.findWithGuestAndScheduleById(reservationId).map(reservationMapper::map)
+                .or(() -> reservationHistoryRepository.findWithGuestAndScheduleById(reservationId).map(reservationMapper::map))
+                .orElseThrow(() -> {
+                    throw new EntityNotFoundException("Reservation not found.");
+                });
     }
 
     private Schedule findScheduleByIdOrThrow(Long scheduleId) {
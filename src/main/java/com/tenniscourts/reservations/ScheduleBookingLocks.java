@@ -0,0 +1,73 @@
+package com.tenniscourts.reservations;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks keyed by schedule id. Bookings of the same schedule always map to the
+ * same stripe and are serialized, bookings of other schedules only contend when they
+ * happen to share a stripe.
+ */
+@Component
+public class ScheduleBookingLocks {
+
+    private final Lock[] stripes;
+
+    private final int mask;
+
+    public ScheduleBookingLocks(@Value("${tenniscourts.booking.lock-stripes:1024}") int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Lock stripes must be positive.");
+        }
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Lock[Math.max(size, 1)];
+        this.mask = this.stripes.length - 1;
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(Long scheduleId, Supplier<T> action) {
+        var lock = stripeFor(scheduleId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Holds the stripes of all given schedules while running the action. Stripes are taken in
+     * ascending index order, so two batches sharing stripes can never deadlock each other.
+     */
+    public <T> T withLocks(Collection<Long> scheduleIds, Supplier<T> action) {
+        var indexes = scheduleIds.stream().mapToInt(this::stripeIndex).distinct().sorted().toArray();
+        int locked = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    Lock stripeFor(Long scheduleId) {
+        return stripes[stripeIndex(scheduleId)];
+    }
+
+    int stripeIndex(Long scheduleId) {
+        int hash = Long.hashCode(scheduleId);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
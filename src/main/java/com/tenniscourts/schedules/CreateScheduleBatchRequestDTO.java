@@ -0,0 +1,44 @@
+package com.tenniscourts.schedules;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateScheduleBatchRequestDTO {
+
+    @NotNull
+    private Long tennisCourtId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @NotNull
+    private LocalDate startDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @NotNull
+    private LocalDate endDate;
+
+    @JsonFormat(pattern = "HH:mm")
+    @NotNull
+    private LocalTime openingTime;
+
+    @JsonFormat(pattern = "HH:mm")
+    @NotNull
+    private LocalTime closingTime;
+
+    @Positive
+    @Builder.Default
+    private int slotDurationMinutes = 60;
+}
@@ -0,0 +1,23 @@
+package com.tenniscourts.schedules;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyIndexConsistencyDTO {
+
+    private boolean consistent;
+
+    private int checkedTennisCourts;
+
+    private List<Long> inconsistentTennisCourtIds;
+}
@@ -10,18 +10,23 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.ManyToOne;
-import javax.persistence.OneToMany;
-import javax.persistence.Table;
-import javax.validation.constraints.NotNull;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table
+@Table(indexes = {
+        @Index(name = "idx_schedule_start_date_time_tennis_court", columnList = "start_date_time, tennis_court_id"),
+        @Index(name = "idx_schedule_tennis_court_start_date_time", columnList = "tennis_court_id, start_date_time")})
 @Getter
 @Setter
 @Builder
@@ -30,11 +35,12 @@ import java.util.List;
 @EqualsAndHashCode(callSuper = true, exclude = "reservations")
 public class Schedule extends BaseEntity<Long> {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tennis_court_id")
     @NotNull
     private TennisCourt tennisCourt;
 
-    @Column
+    @Column(name = "start_date_time")
     @NotNull
     private LocalDateTime startDateTime;
 
@@ -42,7 +48,7 @@ public class Schedule extends BaseEntity<Long> {
     @NotNull
     private LocalDateTime endDateTime;
 
-    @OneToMany
+    @OneToMany(mappedBy = "schedule")
     private List<Reservation> reservations;
 
     public void addReservation(Reservation reservation) {
@@ -0,0 +1,25 @@
+package com.tenniscourts.schedules;
+
+import lombok.Value;
+
+/**
+ * Published whenever a schedule slot of a tennis court changes availability. A
+ * {@link Type#RELOADED} event carries no schedule: the court's free list changed in bulk.
+ */
+@Value
+public class ScheduleAvailabilityEvent {
+
+    public enum Type {
+        BOOKED, FREED, ADDED, RELOADED
+    }
+
+    Type type;
+
+    Long tennisCourtId;
+
+    ScheduleDTO schedule;
+
+    static ScheduleAvailabilityEvent of(Type type, ScheduleDTO schedule) {
+        return new ScheduleAvailabilityEvent(type, schedule.getTennisCourt().getId(), schedule);
+    }
+}
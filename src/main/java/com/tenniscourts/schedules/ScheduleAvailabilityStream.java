@@ -0,0 +1,207 @@
+package com.tenniscourts.schedules;
+
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Pushes the free schedules of a tennis court to server-sent-event subscribers: the current
+ * free list once as a {@code snapshot} event, then one {@code booked}, {@code freed} or
+ * {@code added} event per change after its transaction has committed.
+ * <p>
+ * Publishers never write to a connection. Every subscriber owns a bounded queue that is
+ * drained on a virtual thread only while it has events, so idle subscribers cost a queue and
+ * an emitter. A subscriber that falls more than {@code tenniscourts.schedule.stream.max-pending-events}
+ * events behind is completed; its client reconnects and starts again from a fresh snapshot.
+ */
+@Component
+@Log
+public class ScheduleAvailabilityStream {
+
+    private final ConcurrentMap<Long, Set<Subscriber>> subscribersByTennisCourt = new ConcurrentHashMap<>();
+
+    private final ScheduleService scheduleService;
+
+    private final Executor executor;
+
+    private final long timeoutMillis;
+
+    private final int maxPendingEvents;
+
+    private ScheduledExecutorService heartbeats;
+
+    @Autowired
+    public ScheduleAvailabilityStream(ScheduleService scheduleService,
+                                      @Value("${tenniscourts.schedule.stream.timeout-ms:1800000}") long timeoutMillis,
+                                      @Value("${tenniscourts.schedule.stream.heartbeat-ms:15000}") long heartbeatMillis,
+                                      @Value("${tenniscourts.schedule.stream.max-pending-events:256}") int maxPendingEvents) {
+        this(scheduleService, Executors.newVirtualThreadPerTaskExecutor(), timeoutMillis, maxPendingEvents);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("schedule-stream-heartbeat").daemon(true).factory());
+        this.heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    ScheduleAvailabilityStream(ScheduleService scheduleService, Executor executor, long timeoutMillis, int maxPendingEvents) {
+        this.scheduleService = scheduleService;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+        this.maxPendingEvents = maxPendingEvents;
+    }
+
+    public SseEmitter subscribe(Long tennisCourtId) {
+        var subscriber = new Subscriber(tennisCourtId, this.createEmitter());
+        // Registered before the snapshot is read, so a change committed in between is queued
+        // behind the snapshot instead of being lost.
+        subscribersByTennisCourt.computeIfAbsent(tennisCourtId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(e -> subscriber.close());
+        subscriber.start(snapshotEvent(scheduleService.findFreeSchedulesByTennisCourtId(tennisCourtId)));
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(ScheduleAvailabilityEvent event) {
+        var subscribers = subscribersByTennisCourt.get(event.getTennisCourtId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        if (event.getType() == ScheduleAvailabilityEvent.Type.RELOADED) {
+            // A bulk change is sent as a new snapshot, read once for all subscribers of the court.
+            executor.execute(() -> {
+                var snapshot = scheduleService.findFreeSchedulesByTennisCourtId(event.getTennisCourtId());
+                subscribers.forEach(subscriber -> subscriber.enqueue(snapshotEvent(snapshot)));
+            });
+            return;
+        }
+        subscribers.forEach(subscriber -> subscriber.enqueue(SseEmitter.event()
+                .name(event.getType().name().toLowerCase(Locale.ROOT))
+                .data(event.getSchedule())));
+    }
+
+    public int getSubscriberCount() {
+        return subscribersByTennisCourt.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+        subscribersByTennisCourt.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void sendHeartbeats() {
+        // Keeps idle connections open through proxies and detects clients that went away.
+        subscribersByTennisCourt.values().forEach(subscribers ->
+                subscribers.forEach(subscriber -> subscriber.enqueue(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private static SseEmitter.SseEventBuilder snapshotEvent(List<ScheduleDTO> freeSchedules) {
+        return SseEmitter.event().name("snapshot").data(freeSchedules);
+    }
+
+    private final class Subscriber {
+
+        private final Long tennisCourtId;
+
+        private final SseEmitter emitter;
+
+        private final ConcurrentLinkedDeque<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedDeque<>();
+
+        private final AtomicInteger pendingCount = new AtomicInteger();
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private volatile boolean started;
+
+        private Subscriber(Long tennisCourtId, SseEmitter emitter) {
+            this.tennisCourtId = tennisCourtId;
+            this.emitter = emitter;
+        }
+
+        void start(SseEmitter.SseEventBuilder snapshot) {
+            pending.offerFirst(snapshot);
+            pendingCount.incrementAndGet();
+            started = true;
+            this.scheduleDrain();
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                log.fine("Schedule stream subscriber of tennis court " + tennisCourtId + " fell behind, closing it.");
+                this.close();
+                return;
+            }
+            pending.offer(event);
+            this.scheduleDrain();
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribersByTennisCourt.computeIfPresent(tennisCourtId, (id, subscribers) -> {
+                    subscribers.remove(this);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+                pending.clear();
+                emitter.complete();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (started && !closed.get() && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.log(Level.FINE, "Schedule stream subscriber of tennis court " + tennisCourtId + " went away.", e);
+                this.close();
+            } finally {
+                draining.set(false);
+            }
+            if (!pending.isEmpty()) {
+                this.scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.tenniscourts.schedules;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleBatchResultDTO {
+
+    private Long tennisCourtId;
+
+    private int createdSlots;
+
+    private long elapsedMillis;
+
+    private double slotsPerSecond;
+}
@@ -0,0 +1,60 @@
+package com.tenniscourts.schedules;
+
+import com.tenniscourts.audit.AuditContext;
+import com.tenniscourts.config.persistence.SequenceIdAllocator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserts generated schedule slots with plain JDBC batches, bypassing the persistence
+ * context, so opening a whole season costs one statement round trip per chunk.
+ */
+@Repository
+public class ScheduleBatchWriter {
+
+    private static final String INSERT_SCHEDULE = "insert into schedule " +
+            "(id, tennis_court_id, start_date_time, end_date_time, date_create, date_update, user_create, user_update, ip_number_create, ip_number_update) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SequenceIdAllocator sequenceIdAllocator;
+
+    private final int chunkSize;
+
+    public ScheduleBatchWriter(JdbcTemplate jdbcTemplate, SequenceIdAllocator sequenceIdAllocator,
+                               @Value("${tenniscourts.schedule.batch-chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional
+    public int insertSchedules(Long tennisCourtId, List<LocalDateTime> startDateTimes, Duration slotDuration) {
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        var actor = AuditContext.current();
+        var ids = sequenceIdAllocator.allocate("schedule", startDateTimes.size());
+        var position = new int[1];
+
+        jdbcTemplate.batchUpdate(INSERT_SCHEDULE, startDateTimes, chunkSize, (statement, startDateTime) -> {
+            statement.setLong(1, ids[position[0]++]);
+            statement.setLong(2, tennisCourtId);
+            statement.setTimestamp(3, Timestamp.valueOf(startDateTime));
+            statement.setTimestamp(4, Timestamp.valueOf(startDateTime.plus(slotDuration)));
+            statement.setTimestamp(5, now);
+            statement.setTimestamp(6, now);
+            statement.setLong(7, actor.getUserId());
+            statement.setLong(8, actor.getUserId());
+            statement.setString(9, actor.getIpNumber());
+            statement.setString(10, actor.getIpNumber());
+        });
+        return startDateTimes.size();
+    }
+}
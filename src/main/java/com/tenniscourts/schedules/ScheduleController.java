@@ -1,21 +1,23 @@
 package com.tenniscourts.schedules;
 
 import com.tenniscourts.config.BaseRestController;
-import io.swagger.annotations.ApiOperation;
+import io.swagger.v3.oas.annotations.Operation;
 import lombok.AllArgsConstructor;
 import lombok.extern.java.Log;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.util.List;
 
 @AllArgsConstructor
 @RequestMapping(value = "/schedule")
@@ -25,20 +27,37 @@ public class ScheduleController extends BaseRestController {
 
     private final ScheduleService scheduleService;
 
-    @ApiOperation(value = "Create a schedule")
+    @Operation(summary = "Create a schedule")
     @PostMapping()
     public ResponseEntity<Void> addScheduleTennisCourt(@RequestBody CreateScheduleRequestDTO createScheduleRequestDTO) {
         return ResponseEntity.created(locationByEntity(scheduleService.addSchedule(createScheduleRequestDTO.getTennisCourtId().longValue(), createScheduleRequestDTO).getId())).build();
     }
 
-    //TODO: implement rest and swagger
-    public ResponseEntity<List<ScheduleDTO>> findSchedulesByDates(LocalDate startDate,
-                                                                  LocalDate endDate) {
-        return ResponseEntity.ok(scheduleService.findSchedulesByDates(LocalDateTime.of(startDate, LocalTime.of(0, 0)), LocalDateTime.of(endDate, LocalTime.of(23, 59))));
+    @Operation(summary = "Create all schedule slots of a tennis court for a date range and daily opening hours")
+    @PostMapping("batch")
+    public ResponseEntity<ScheduleBatchResultDTO> addSchedulesBatch(@RequestBody @Valid CreateScheduleBatchRequestDTO createScheduleBatchRequestDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(scheduleService.addSchedulesBatch(createScheduleBatchRequestDTO));
     }
 
-    //TODO: implement rest and swagger
-    public ResponseEntity<ScheduleDTO> findByScheduleId(Long scheduleId) {
+    @Operation(summary = "Compare the in-memory slot occupancy index with the database and drop the courts that drifted")
+    @PostMapping("occupancy-index/consistency")
+    public ResponseEntity<OccupancyIndexConsistencyDTO> checkOccupancyIndexConsistency() {
+        return ResponseEntity.ok(scheduleService.checkOccupancyIndexConsistency());
+    }
+
+    @Operation(summary = "Return schedules between two dates, paged by the cursor of the previous page")
+    @GetMapping()
+    public ResponseEntity<SchedulePageDTO> findSchedulesByDates(@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                                                @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "100") int size) {
+        // Both dates are whole days, so the range ends at the midnight after the last one.
+        return ResponseEntity.ok(scheduleService.findSchedulesByDates(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay(), cursor, size));
+    }
+
+    @Operation(summary = "Return schedule by id")
+    @GetMapping("{scheduleId}")
+    public ResponseEntity<ScheduleDTO> findByScheduleId(@PathVariable Long scheduleId) {
         return ResponseEntity.ok(scheduleService.findSchedule(scheduleId));
     }
 }
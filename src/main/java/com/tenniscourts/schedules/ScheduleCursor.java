@@ -0,0 +1,45 @@
+package com.tenniscourts.schedules;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position (start date time, id) of the last schedule of a page.
+ */
+@Getter
+public class ScheduleCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime startDateTime;
+
+    private final Long id;
+
+    public ScheduleCursor(LocalDateTime startDateTime, Long id) {
+        this.startDateTime = startDateTime;
+        this.id = id;
+    }
+
+    public static ScheduleCursor after(Schedule schedule) {
+        return new ScheduleCursor(schedule.getStartDateTime(), schedule.getId());
+    }
+
+    public static ScheduleCursor decode(String cursor) {
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return new ScheduleCursor(LocalDateTime.parse(value.substring(0, separator)), Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    public String encode() {
+        var value = startDateTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
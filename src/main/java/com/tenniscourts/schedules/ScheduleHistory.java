@@ -0,0 +1,39 @@
+package com.tenniscourts.schedules;
+
+import com.tenniscourts.config.persistence.ArchivedEntity;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * A {@link Schedule} that ended before the archival horizon.
+ */
+@Entity
+@Immutable
+@Table(indexes = @Index(name = "idx_schedule_history_start_date_time", columnList = "start_date_time"))
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ScheduleHistory extends ArchivedEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tennis_court_id")
+    private TennisCourt tennisCourt;
+
+    @Column(name = "start_date_time")
+    private LocalDateTime startDateTime;
+
+    @Column
+    private LocalDateTime endDateTime;
+}
@@ -0,0 +1,12 @@
+package com.tenniscourts.schedules;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ScheduleHistoryRepository extends JpaRepository<ScheduleHistory, Long> {
+
+    @EntityGraph(attributePaths = "tennisCourt")
+    Optional<ScheduleHistory> findWithTennisCourtById(Long id);
+}
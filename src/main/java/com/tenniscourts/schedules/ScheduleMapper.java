@@ -1,15 +1,18 @@
 package com.tenniscourts.schedules;
 
+import org.mapstruct.Builder;
 import org.mapstruct.Mapper;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
 public interface ScheduleMapper {
 
     Schedule map(ScheduleDTO source);
 
     ScheduleDTO map(Schedule source);
 
+    ScheduleDTO map(ScheduleHistory source);
+
     List<ScheduleDTO> map(List<Schedule> source);
 }
@@ -0,0 +1,191 @@
+package com.tenniscourts.schedules;
+
+import lombok.EqualsAndHashCode;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory view of which schedule slots of each tennis court are free or booked.
+ * Free slots are kept ordered by start date time so the free list of a court is a
+ * plain tail read; a court is only answered from memory once it has been loaded.
+ * <p>
+ * Every change to a court is counted, loaded or not. A load is only installed when no change
+ * was counted since its database read started, so it never hides a booking committed in
+ * between, and never replaces a court another load installed first.
+ */
+@Component
+public class ScheduleOccupancyIndex {
+
+    private final ConcurrentMap<Long, CourtSlots> slotsByTennisCourt = new ConcurrentHashMap<>();
+
+    /**
+     * Changes seen per court. A change and a load of the same court are applied while holding
+     * the court's entry, so one is always fully before the other.
+     */
+    private final ConcurrentMap<Long, Long> changesByTennisCourt = new ConcurrentHashMap<>();
+
+    public void rebuild(Collection<ScheduleDTO> schedules, Set<Long> bookedScheduleIds) {
+        Map<Long, CourtSlots> rebuilt = new ConcurrentHashMap<>();
+        for (ScheduleDTO schedule : schedules) {
+            var courtSlots = rebuilt.computeIfAbsent(schedule.getTennisCourt().getId(), id -> new CourtSlots());
+            if (bookedScheduleIds.contains(schedule.getId())) {
+                courtSlots.markBooked(schedule);
+            } else {
+                courtSlots.markFree(schedule);
+            }
+        }
+        slotsByTennisCourt.keySet().retainAll(rebuilt.keySet());
+        slotsByTennisCourt.putAll(rebuilt);
+    }
+
+    /**
+     * @return the count to pass to {@link #load} for a database read starting now
+     */
+    public long changeCount(Long tennisCourtId) {
+        return changesByTennisCourt.getOrDefault(tennisCourtId, 0L);
+    }
+
+    /**
+     * Installs the free slots read from the database unless the court changed since
+     * {@code changeCount} was taken or is already loaded.
+     *
+     * @return whether the court is now answered from these slots
+     */
+    public boolean load(Long tennisCourtId, long changeCount, Collection<ScheduleDTO> freeSchedules) {
+        var courtSlots = new CourtSlots();
+        freeSchedules.forEach(courtSlots::markFree);
+        var installed = new boolean[1];
+        changesByTennisCourt.compute(tennisCourtId, (id, changes) -> {
+            if ((changes == null ? 0L : changes) == changeCount) {
+                installed[0] = slotsByTennisCourt.putIfAbsent(id, courtSlots) == null;
+            }
+            return changes;
+        });
+        return installed[0];
+    }
+
+    public void evict(Long tennisCourtId) {
+        slotsByTennisCourt.remove(tennisCourtId);
+    }
+
+    /**
+     * Drops slots that ended before the cutoff, once they have been archived.
+     */
+    public void pruneBefore(LocalDateTime cutoff) {
+        slotsByTennisCourt.values().forEach(courtSlots -> courtSlots.pruneBefore(cutoff));
+    }
+
+    public Set<Long> loadedTennisCourtIds() {
+        return Set.copyOf(slotsByTennisCourt.keySet());
+    }
+
+    public Optional<List<ScheduleDTO>> findFreeSchedules(Long tennisCourtId, LocalDateTime from) {
+        return Optional.ofNullable(slotsByTennisCourt.get(tennisCourtId))
+                .map(courtSlots -> new ArrayList<>(courtSlots.freeFrom(from)));
+    }
+
+    /**
+     * @return the id of the first free slot starting at or after {@code from}, 0 when there is none,
+     * or empty when the court is not loaded
+     */
+    public Optional<Long> findFirstFreeScheduleId(Long tennisCourtId, LocalDateTime from) {
+        return Optional.ofNullable(slotsByTennisCourt.get(tennisCourtId))
+                .map(courtSlots -> courtSlots.firstFreeFrom(from).map(ScheduleDTO::getId).orElse(0L));
+    }
+
+    public Set<Long> findFreeScheduleIds(Long tennisCourtId, LocalDateTime from) {
+        return findFreeSchedules(tennisCourtId, from).orElse(List.of()).stream()
+                .map(ScheduleDTO::getId)
+                .collect(Collectors.toSet());
+    }
+
+    public void addSchedule(ScheduleDTO schedule) {
+        withLoadedCourt(schedule, courtSlots -> courtSlots.markFree(schedule));
+    }
+
+    public void markBooked(ScheduleDTO schedule) {
+        withLoadedCourt(schedule, courtSlots -> courtSlots.markBooked(schedule));
+    }
+
+    public void markFree(ScheduleDTO schedule) {
+        withLoadedCourt(schedule, courtSlots -> courtSlots.markFree(schedule));
+    }
+
+    private void withLoadedCourt(ScheduleDTO schedule, Consumer<CourtSlots> action) {
+        // Courts that were never loaded are read from the database on their first lookup; the
+        // count tells a load already reading that it may have missed this change.
+        changesByTennisCourt.compute(schedule.getTennisCourt().getId(), (id, changes) -> {
+            var courtSlots = slotsByTennisCourt.get(id);
+            if (courtSlots != null) {
+                action.accept(courtSlots);
+            }
+            return changes == null ? 1L : changes + 1;
+        });
+    }
+
+    private static final class CourtSlots {
+
+        private final NavigableMap<SlotKey, ScheduleDTO> freeSlots = new ConcurrentSkipListMap<>();
+
+        private final Map<Long, ScheduleDTO> bookedSlots = new ConcurrentHashMap<>();
+
+        synchronized void markBooked(ScheduleDTO schedule) {
+            freeSlots.remove(SlotKey.of(schedule));
+            bookedSlots.put(schedule.getId(), schedule);
+        }
+
+        synchronized void markFree(ScheduleDTO schedule) {
+            bookedSlots.remove(schedule.getId());
+            freeSlots.put(SlotKey.of(schedule), schedule);
+        }
+
+        synchronized void pruneBefore(LocalDateTime cutoff) {
+            freeSlots.headMap(new SlotKey(cutoff, Long.MIN_VALUE)).values().removeIf(schedule -> schedule.getEndDateTime().isBefore(cutoff));
+            bookedSlots.values().removeIf(schedule -> schedule.getEndDateTime().isBefore(cutoff));
+        }
+
+        Collection<ScheduleDTO> freeFrom(LocalDateTime from) {
+            return freeSlots.tailMap(new SlotKey(from, Long.MIN_VALUE), true).values();
+        }
+
+        Optional<ScheduleDTO> firstFreeFrom(LocalDateTime from) {
+            return Optional.ofNullable(freeSlots.ceilingEntry(new SlotKey(from, Long.MIN_VALUE))).map(Map.Entry::getValue);
+        }
+    }
+
+    @EqualsAndHashCode
+    private static final class SlotKey implements Comparable<SlotKey> {
+
+        private final LocalDateTime startDateTime;
+
+        private final Long scheduleId;
+
+        private SlotKey(LocalDateTime startDateTime, Long scheduleId) {
+            this.startDateTime = startDateTime;
+            this.scheduleId = scheduleId;
+        }
+
+        static SlotKey of(ScheduleDTO schedule) {
+            return new SlotKey(schedule.getStartDateTime(), schedule.getId());
+        }
+
+        @Override
+        public int compareTo(SlotKey other) {
+            int byStart = startDateTime.compareTo(other.startDateTime);
+            return byStart != 0 ? byStart : scheduleId.compareTo(other.scheduleId);
+        }
+    }
+}
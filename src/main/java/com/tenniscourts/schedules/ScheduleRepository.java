@@ -1,15 +1,45 @@
 package com.tenniscourts.schedules;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
 
-    @Query("select s from Schedule s left join Reservation r on (r.schedule.id = s.id) where s.tennisCourt.id = ?1 " +
-            "and (r.id IS NULL OR r.reservationStatus <> 0) " +
+    @EntityGraph(attributePaths = "tennisCourt")
+    Optional<Schedule> findWithTennisCourtById(Long id);
+
+    @EntityGraph(attributePaths = "tennisCourt")
+    List<Schedule> findWithTennisCourtByIdIn(Collection<Long> ids);
+
+    @Query("select s from Schedule s join fetch s.tennisCourt where s.tennisCourt.id = ?1 " +
+            "and not exists (select r.id from Reservation r where r.schedule.id = s.id and r.reservationStatus = com.tenniscourts.reservations.ReservationStatus.READY_TO_PLAY) " +
             "and s.startDateTime >= current_timestamp order by s.startDateTime")
     List<Schedule> findByTennisCourt_IdAndWithoutReservationOrderByStartDateTime(Long id);
-}
\ No newline at end of file
+
+    /**
+     * Schedules starting in {@code [startDateTime, endDateTime)}, after the cursor.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "200"))
+    @Query("select s from Schedule s join fetch s.tennisCourt where s.startDateTime >= ?1 and s.startDateTime < ?2 " +
+            "and (s.startDateTime > ?3 or (s.startDateTime = ?3 and s.id > ?4)) order by s.startDateTime, s.id")
+    Stream<Schedule> streamByStartDateTimeBetweenAfterCursor(LocalDateTime startDateTime, LocalDateTime endDateTime,
+                                                             LocalDateTime cursorStartDateTime, Long cursorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "tennisCourt")
+    List<Schedule> findByStartDateTimeGreaterThanEqualOrderByStartDateTime(LocalDateTime startDateTime);
+
+    @Query("select distinct r.schedule.id from Reservation r where r.reservationStatus = com.tenniscourts.reservations.ReservationStatus.READY_TO_PLAY")
+    List<Long> findBookedScheduleIds();
+}
@@ -1,16 +1,36 @@
 package com.tenniscourts.schedules;
 
+import com.tenniscourts.config.persistence.ReplicaRoutingContext;
+import com.tenniscourts.config.web.EntityVersions;
+import com.tenniscourts.exceptions.EntityNotFoundException;
 import com.tenniscourts.tenniscourts.TennisCourtService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Service
 public class ScheduleService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private ScheduleRepository scheduleRepository;
     @Autowired
     public void setScheduleRepository(ScheduleRepository scheduleRepository) {
@@ -19,7 +39,7 @@ public class ScheduleService {
 
     private TennisCourtService tennisCourtService;
     @Autowired
-    public void setTennisCourtService(TennisCourtService tennisCourtService) {
+    public void setTennisCourtService(@Lazy TennisCourtService tennisCourtService) {
         this.tennisCourtService = tennisCourtService;
     }
 
@@ -29,26 +49,231 @@ public class ScheduleService {
         this.scheduleMapper = scheduleMapper;
     }
 
+    private ScheduleOccupancyIndex occupancyIndex;
+    @Autowired
+    public void setOccupancyIndex(ScheduleOccupancyIndex occupancyIndex) {
+        this.occupancyIndex = occupancyIndex;
+    }
+
+    private ScheduleHistoryRepository scheduleHistoryRepository;
+    @Autowired
+    public void setScheduleHistoryRepository(ScheduleHistoryRepository scheduleHistoryRepository) {
+        this.scheduleHistoryRepository = scheduleHistoryRepository;
+    }
+
+    private ScheduleBatchWriter scheduleBatchWriter;
+    @Autowired
+    public void setScheduleBatchWriter(ScheduleBatchWriter scheduleBatchWriter) {
+        this.scheduleBatchWriter = scheduleBatchWriter;
+    }
+
+    private EntityVersions entityVersions;
+    @Autowired
+    public void setEntityVersions(EntityVersions entityVersions) {
+        this.entityVersions = entityVersions;
+    }
+
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    public void setEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    private int maxBatchSlots = 100_000;
+    @Value("${tenniscourts.schedule.batch-max-slots:100000}")
+    public void setMaxBatchSlots(int maxBatchSlots) {
+        this.maxBatchSlots = maxBatchSlots;
+    }
+
     public ScheduleDTO addSchedule(Long tennisCourtId, CreateScheduleRequestDTO createScheduleRequestDTO) {
         var tennisCourt = tennisCourtService.findTennisCourtById(tennisCourtId);
         var scheduleDTO = new ScheduleDTO();
         scheduleDTO.setTennisCourt(tennisCourt);
         scheduleDTO.setStartDateTime(createScheduleRequestDTO.getStartDateTime());
         scheduleDTO.setEndDateTime(createScheduleRequestDTO.getStartDateTime().plusHours(1));
-        return scheduleMapper.map(scheduleRepository.saveAndFlush(scheduleMapper.map(scheduleDTO)));
+        var createdSchedule = scheduleMapper.map(scheduleRepository.saveAndFlush(scheduleMapper.map(scheduleDTO)));
+        afterCommit(() -> occupancyIndex.addSchedule(createdSchedule));
+        entityVersions.tennisCourtChanged(tennisCourtId);
+        eventPublisher.publishEvent(ScheduleAvailabilityEvent.of(ScheduleAvailabilityEvent.Type.ADDED, createdSchedule));
+        return createdSchedule;
+    }
+
+    public ScheduleBatchResultDTO addSchedulesBatch(CreateScheduleBatchRequestDTO createScheduleBatchRequestDTO) {
+        var tennisCourtId = createScheduleBatchRequestDTO.getTennisCourtId();
+        tennisCourtService.findTennisCourtById(tennisCourtId);
+
+        long start = System.nanoTime();
+        var slotDuration = Duration.ofMinutes(createScheduleBatchRequestDTO.getSlotDurationMinutes());
+        var startDateTimes = this.generateSlotStartDateTimes(createScheduleBatchRequestDTO, slotDuration);
+        int createdSlots = scheduleBatchWriter.insertSchedules(tennisCourtId, startDateTimes, slotDuration);
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1L);
+
+        // The court is reloaded from the database on its next free-schedule lookup.
+        occupancyIndex.evict(tennisCourtId);
+        entityVersions.tennisCourtChanged(tennisCourtId);
+        eventPublisher.publishEvent(new ScheduleAvailabilityEvent(ScheduleAvailabilityEvent.Type.RELOADED, tennisCourtId, null));
+
+        return ScheduleBatchResultDTO.builder()
+                .tennisCourtId(tennisCourtId)
+                .createdSlots(createdSlots)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .slotsPerSecond(createdSlots * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos)
+                .build();
     }
 
-    public List<ScheduleDTO> findSchedulesByDates(LocalDateTime startDate, LocalDateTime endDate) {
-        //TODO: implement
-        return null;
+    private List<LocalDateTime> generateSlotStartDateTimes(CreateScheduleBatchRequestDTO request, Duration slotDuration) {
+        if (request.getSlotDurationMinutes() <= 0) {
+            throw new IllegalArgumentException("Slot duration must be positive.");
+        }
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date.");
+        }
+        if (!request.getClosingTime().isAfter(request.getOpeningTime())) {
+            throw new IllegalArgumentException("Closing time must be after opening time.");
+        }
+
+        var startDateTimes = new ArrayList<LocalDateTime>();
+        for (var date = request.getStartDate(); !date.isAfter(request.getEndDate()); date = date.plusDays(1)) {
+            var closing = date.atTime(request.getClosingTime());
+            for (var slot = date.atTime(request.getOpeningTime()); !slot.plus(slotDuration).isAfter(closing); slot = slot.plus(slotDuration)) {
+                startDateTimes.add(slot);
+                if (startDateTimes.size() > maxBatchSlots) {
+                    throw new IllegalArgumentException("Cannot create more than " + maxBatchSlots + " slots at once.");
+                }
+            }
+        }
+        return startDateTimes;
     }
 
+    @Transactional(readOnly = true)
+    public SchedulePageDTO findSchedulesByDates(LocalDateTime startDate, LocalDateTime endDate, String cursor, int size) {
+        // The end is exclusive: the controller passes the midnight after the last day.
+        if (!endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date.");
+        }
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        var position = cursor == null ? new ScheduleCursor(startDate, Long.MIN_VALUE) : ScheduleCursor.decode(cursor);
+        var schedules = new ArrayList<ScheduleDTO>(size);
+        var lastSchedule = new Schedule[1];
+        var hasMore = new boolean[1];
+
+        // One extra row tells whether another page exists; rows are mapped as they are read.
+        try (var stream = scheduleRepository.streamByStartDateTimeBetweenAfterCursor(startDate, endDate,
+                position.getStartDateTime(), position.getId(), PageRequest.of(0, size + 1))) {
+            stream.forEach(schedule -> {
+                if (schedules.size() == size) {
+                    hasMore[0] = true;
+                    return;
+                }
+                schedules.add(scheduleMapper.map(schedule));
+                lastSchedule[0] = schedule;
+            });
+        }
+
+        return SchedulePageDTO.builder()
+                .schedules(schedules)
+                .nextCursor(hasMore[0] ? ScheduleCursor.after(lastSchedule[0]).encode() : null)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
     public ScheduleDTO findSchedule(Long scheduleId) {
-        //TODO: implement
-        return null;
+        // Schedules past the archival horizon are only left in the history table.
+        return scheduleRepository.findWithTennisCourtById(scheduleId).map(scheduleMapper::map)
+                .or(() -> scheduleHistoryRepository.findWithTennisCourtById(scheduleId).map(scheduleMapper::map))
+                .orElseThrow(() -> {
+                    throw new EntityNotFoundException("Schedule not found.");
+                });
     }
 
     public List<ScheduleDTO> findFreeSchedulesByTennisCourtId(Long tennisCourtId) {
-        return scheduleMapper.map(scheduleRepository.findByTennisCourt_IdAndWithoutReservationOrderByStartDateTime(tennisCourtId));
+        var now = LocalDateTime.now();
+        return occupancyIndex.findFreeSchedules(tennisCourtId, now).orElseGet(() -> {
+            long changeCount = occupancyIndex.changeCount(tennisCourtId);
+            // Loaded from the primary: the index outlives any replication lag it would copy.
+            var freeSchedules = ReplicaRoutingContext.onPrimary(() ->
+                    scheduleMapper.map(scheduleRepository.findByTennisCourt_IdAndWithoutReservationOrderByStartDateTime(tennisCourtId)));
+            if (occupancyIndex.load(tennisCourtId, changeCount, freeSchedules)) {
+                return occupancyIndex.findFreeSchedules(tennisCourtId, now).orElse(List.of());
+            }
+            // The court changed while it was read, or another load won; the read is still
+            // right for this caller, and the next lookup loads again.
+            return freeSchedules.stream()
+                    .filter(schedule -> !schedule.getStartDateTime().isBefore(now))
+                    .collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * @return the id of the first free slot of the court from now on, 0 when there is none, or
+     * empty when the court is not in the occupancy index
+     */
+    public Optional<Long> findFirstFreeScheduleId(Long tennisCourtId) {
+        return occupancyIndex.findFirstFreeScheduleId(tennisCourtId, LocalDateTime.now());
+    }
+
+    public void markScheduleBooked(Schedule schedule) {
+        var scheduleDTO = scheduleMapper.map(schedule);
+        afterCommit(() -> occupancyIndex.markBooked(scheduleDTO));
+        entityVersions.tennisCourtChanged(scheduleDTO.getTennisCourt().getId());
+        eventPublisher.publishEvent(ScheduleAvailabilityEvent.of(ScheduleAvailabilityEvent.Type.BOOKED, scheduleDTO));
+    }
+
+    public void markScheduleFree(Schedule schedule) {
+        var scheduleDTO = scheduleMapper.map(schedule);
+        afterCommit(() -> occupancyIndex.markFree(scheduleDTO));
+        entityVersions.tennisCourtChanged(scheduleDTO.getTennisCourt().getId());
+        eventPublisher.publishEvent(ScheduleAvailabilityEvent.of(ScheduleAvailabilityEvent.Type.FREED, scheduleDTO));
+    }
+
+    /**
+     * Applies a change to the shared occupancy index once the surrounding transaction commits,
+     * so a rolled back booking never shows in it; right away when there is no transaction.
+     */
+    private static void afterCommit(Runnable indexChange) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indexChange.run();
+                }
+            });
+        } else {
+            indexChange.run();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOccupancyIndex() {
+        ReplicaRoutingContext.onPrimary(() -> {
+            var bookedScheduleIds = new HashSet<>(scheduleRepository.findBookedScheduleIds());
+            var schedules = scheduleRepository.findByStartDateTimeGreaterThanEqualOrderByStartDateTime(LocalDateTime.now());
+            occupancyIndex.rebuild(scheduleMapper.map(schedules), bookedScheduleIds);
+            return null;
+        });
+    }
+
+    public OccupancyIndexConsistencyDTO checkOccupancyIndexConsistency() {
+        var now = LocalDateTime.now();
+        var tennisCourtIds = occupancyIndex.loadedTennisCourtIds();
+        var inconsistentTennisCourtIds = tennisCourtIds.stream()
+                .filter(tennisCourtId -> !occupancyIndex.findFreeScheduleIds(tennisCourtId, now).equals(ReplicaRoutingContext.onPrimary(() ->
+                        scheduleRepository.findByTennisCourt_IdAndWithoutReservationOrderByStartDateTime(tennisCourtId).stream()
+                                .map(Schedule::getId)
+                                .collect(Collectors.toSet()))))
+                .sorted()
+                .collect(Collectors.toList());
+
+        // Drifted courts are dropped so their next lookup reloads them from the database.
+        inconsistentTennisCourtIds.forEach(occupancyIndex::evict);
+
+        return OccupancyIndexConsistencyDTO.builder()
+                .consistent(inconsistentTennisCourtIds.isEmpty())
+                .checkedTennisCourts(tennisCourtIds.size())
+                .inconsistentTennisCourtIds(inconsistentTennisCourtIds)
+                .build();
     }
 }
@@ -1,11 +1,16 @@
 package com.tenniscourts.tenniscourts;
 
 import com.tenniscourts.config.BaseRestController;
-import io.swagger.annotations.ApiOperation;
+import com.tenniscourts.config.web.EntityVersions;
+import com.tenniscourts.schedules.ScheduleAvailabilityStream;
+import io.swagger.v3.oas.annotations.Operation;
 import lombok.AllArgsConstructor;
 import lombok.extern.java.Log;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @AllArgsConstructor
 @RestController()
@@ -14,21 +19,42 @@ public class TennisCourtController extends BaseRestController {
 
     private final TennisCourtService tennisCourtService;
 
-    @ApiOperation(value = "Create a Tennis court")
+    private final ScheduleAvailabilityStream scheduleAvailabilityStream;
+
+    private final EntityVersions entityVersions;
+
+    @Operation(summary = "Create a Tennis court")
     @PostMapping()
     public ResponseEntity<Void> addTennisCourt(@RequestBody TennisCourtDTO tennisCourtDTO) {
         return ResponseEntity.created(locationByEntity(tennisCourtService.addTennisCourt(tennisCourtDTO).getId())).build();
     }
 
-    @ApiOperation(value = "Return Tennis court by id")
+    @Operation(summary = "Return Tennis court by id")
     @GetMapping("{tennisCourtId}")
     public ResponseEntity<TennisCourtDTO> findTennisCourtById(@PathVariable Long tennisCourtId) {
         return ResponseEntity.ok(tennisCourtService.findTennisCourtById(tennisCourtId));
     }
 
-    @ApiOperation(value = "Return list of all schedules free of a tennis court")
+    @Operation(summary = "Return list of all schedules free of a tennis court")
     @GetMapping("{tennisCourtId}/schedules/free")
-    public ResponseEntity<TennisCourtDTO> findTennisCourtWithFreeSchedulesById(@PathVariable Long tennisCourtId) {
-        return ResponseEntity.ok(tennisCourtService.findTennisCourtWithFreeSchedulesById(tennisCourtId));
+    public ResponseEntity<TennisCourtDTO> findTennisCourtWithFreeSchedulesById(@PathVariable Long tennisCourtId,
+                                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        long version = entityVersions.tennisCourtVersion(tennisCourtId);
+        var eTag = tennisCourtService.findFreeSchedulesETag(tennisCourtId, version);
+        if (eTag.isPresent() && isNotModified(ifNoneMatch, eTag.get())) {
+            return notModified(eTag.get());
+        }
+        var tennisCourt = tennisCourtService.findTennisCourtWithFreeSchedulesById(tennisCourtId);
+        // A court read for the first time is only in the index now.
+        return eTag.or(() -> tennisCourtService.findFreeSchedulesETag(tennisCourtId, version))
+                .map(loadedETag -> ResponseEntity.ok().eTag(loadedETag).body(tennisCourt))
+                .orElseGet(() -> ResponseEntity.ok(tennisCourt));
+    }
+
+    @Operation(summary = "Stream the free schedules of a tennis court, then every booking, cancellation or new slot")
+    @GetMapping(value = "{tennisCourtId}/schedules/free/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFreeSchedules(@PathVariable Long tennisCourtId) {
+        tennisCourtService.findTennisCourtById(tennisCourtId);
+        return scheduleAvailabilityStream.subscribe(tennisCourtId);
     }
 }
@@ -1,9 +1,10 @@
 package com.tenniscourts.tenniscourts;
 
 import org.mapstruct.InheritInverseConfiguration;
+import org.mapstruct.Builder;
 import org.mapstruct.Mapper;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
 public interface TennisCourtMapper {
     TennisCourtDTO map(TennisCourt source);
 
@@ -1,6 +1,34 @@
 package com.tenniscourts.tenniscourts;
 
+import com.tenniscourts.config.cache.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
+/**
+ * Writes evict the row from the {@value CacheConfig#TENNIS_COURTS} cache once they commit. It holds DTO copies filled
+ * by the service, never entities.
+ */
 public interface TennisCourtRepository extends JpaRepository<TennisCourt, Long> {
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TENNIS_COURTS, key = "#result.id")
+    <S extends TennisCourt> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TENNIS_COURTS, key = "#result.id")
+    <S extends TennisCourt> S saveAndFlush(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TENNIS_COURTS, allEntries = true)
+    <S extends TennisCourt> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TENNIS_COURTS, key = "#p0")
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TENNIS_COURTS, key = "#p0.id")
+    void delete(TennisCourt entity);
 }
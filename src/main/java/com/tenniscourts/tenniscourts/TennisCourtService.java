@@ -1,9 +1,15 @@
 package com.tenniscourts.tenniscourts;
 
+import com.tenniscourts.config.cache.CacheConfig;
+import com.tenniscourts.config.web.EntityVersions;
 import com.tenniscourts.exceptions.EntityNotFoundException;
 import com.tenniscourts.schedules.ScheduleService;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
 
 @Service
 @AllArgsConstructor
@@ -15,14 +21,39 @@ public class TennisCourtService {
 
     private final TennisCourtMapper tennisCourtMapper;
 
+    private final EntityVersions entityVersions;
+
+    private final CacheManager cacheManager;
+
     public TennisCourtDTO addTennisCourt(TennisCourtDTO tennisCourt) {
         return tennisCourtMapper.map(tennisCourtRepository.saveAndFlush(tennisCourtMapper.map(tennisCourt)));
     }
 
+    /**
+     * Looks the court up in the {@value CacheConfig#TENNIS_COURTS} cache first. The cached copy is
+     * shared between threads, so every caller gets its own to fill in.
+     */
+    @Transactional(readOnly = true)
     public TennisCourtDTO findTennisCourtById(Long id) {
-        return tennisCourtRepository.findById(id).map(tennisCourtMapper::map).orElseThrow(() -> {
-            throw new EntityNotFoundException("Tennis Court not found.");
-        });
+        var cache = cacheManager.getCache(CacheConfig.TENNIS_COURTS);
+        var tennisCourt = cache.get(id, TennisCourtDTO.class);
+        if (tennisCourt == null) {
+            tennisCourt = tennisCourtRepository.findById(id).map(tennisCourtMapper::map).orElseThrow(() -> {
+                throw new EntityNotFoundException("Tennis Court not found.");
+            });
+            cache.put(id, tennisCourt);
+        }
+        return TennisCourtDTO.builder().id(tennisCourt.getId()).name(tennisCourt.getName()).build();
+    }
+
+    /**
+     * ETag of the free schedules of a court, told from memory: the version of the court and its
+     * first free slot, which changes as slots start. Empty while the court is not in the
+     * occupancy index.
+     */
+    public Optional<String> findFreeSchedulesETag(Long tennisCourtId, long version) {
+        return scheduleService.findFirstFreeScheduleId(tennisCourtId)
+                .map(firstFreeScheduleId -> entityVersions.eTag("tennis-court", tennisCourtId, version, firstFreeScheduleId));
     }
 
     public TennisCourtDTO findTennisCourtWithFreeSchedulesById(Long tennisCourtId) {
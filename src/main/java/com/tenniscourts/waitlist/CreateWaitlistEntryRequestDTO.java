@@ -0,0 +1,20 @@
+package com.tenniscourts.waitlist;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import jakarta.validation.constraints.NotNull;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateWaitlistEntryRequestDTO {
+
+    @NotNull
+    private Long guestId;
+}
@@ -0,0 +1,33 @@
+package com.tenniscourts.waitlist;
+
+import com.tenniscourts.config.BaseRestController;
+import com.tenniscourts.config.web.AdmissionControl;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.validation.Valid;
+
+@AllArgsConstructor
+@RequestMapping(value = "/schedule")
+@RestController()
+public class WaitlistController extends BaseRestController {
+
+    private final WaitlistService waitlistService;
+
+    private final AdmissionControl admissionControl;
+
+    @Operation(summary = "Wait for a booked schedule, the guest is booked automatically when it is freed")
+    @PostMapping("{scheduleId}/waitlist")
+    public ResponseEntity<WaitlistEntryDTO> joinWaitlist(@PathVariable Long scheduleId,
+                                                         @RequestBody @Valid CreateWaitlistEntryRequestDTO createWaitlistEntryRequestDTO) {
+        admissionControl.admitGuest(createWaitlistEntryRequestDTO.getGuestId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitlistService.joinWaitlist(scheduleId, createWaitlistEntryRequestDTO));
+    }
+}
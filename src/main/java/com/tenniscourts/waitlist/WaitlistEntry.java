@@ -0,0 +1,53 @@
+package com.tenniscourts.waitlist;
+
+import com.tenniscourts.config.persistence.BaseEntity;
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.schedules.Schedule;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * A guest waiting for a booked {@link Schedule}. Entries of a schedule are promoted in id order.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_waitlist_entry_schedule_status", columnList = "schedule_id, status"))
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class WaitlistEntry extends BaseEntity<Long> {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @NotNull
+    private Guest guest;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "schedule_id")
+    @NotNull
+    private Schedule schedule;
+
+    @Column(name = "status")
+    @NotNull
+    private WaitlistStatus status;
+
+    /**
+     * The reservation the entry was promoted into.
+     */
+    @Column
+    private Long reservationId;
+}
@@ -0,0 +1,30 @@
+package com.tenniscourts.waitlist;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryDTO {
+
+    private Long id;
+
+    private Long scheduleId;
+
+    private Long guestId;
+
+    private WaitlistStatus status;
+
+    /**
+     * 1 for the guest promoted next when the schedule is freed.
+     */
+    private long position;
+
+    private Long reservationId;
+}
@@ -0,0 +1,18 @@
+package com.tenniscourts.waitlist;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    boolean existsBySchedule_IdAndGuest_IdAndStatus(Long scheduleId, Long guestId, WaitlistStatus status);
+
+    long countBySchedule_IdAndStatus(Long scheduleId, WaitlistStatus status);
+
+    long countBySchedule_IdAndStatusAndIdLessThanEqual(Long scheduleId, WaitlistStatus status, Long id);
+
+    @EntityGraph(attributePaths = "schedule")
+    List<WaitlistEntry> findByStatusOrderById(WaitlistStatus status);
+}
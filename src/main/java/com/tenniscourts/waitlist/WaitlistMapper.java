@@ -0,0 +1,14 @@
+package com.tenniscourts.waitlist;
+
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
+public interface WaitlistMapper {
+
+    @Mapping(target = "scheduleId", source = "schedule.id")
+    @Mapping(target = "guestId", source = "guest.id")
+    @Mapping(target = "position", ignore = true)
+    WaitlistEntryDTO map(WaitlistEntry source);
+}
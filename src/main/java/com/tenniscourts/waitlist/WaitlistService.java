@@ -0,0 +1,289 @@
+package com.tenniscourts.waitlist;
+
+import com.tenniscourts.exceptions.AlreadyExistsEntityException;
+import com.tenniscourts.exceptions.BusinessException;
+import com.tenniscourts.exceptions.EntityNotFoundException;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.reservations.ReservationRepository;
+import com.tenniscourts.reservations.ReservationService;
+import com.tenniscourts.reservations.ReservationStatus;
+import com.tenniscourts.reservations.ScheduleBookingLocks;
+import com.tenniscourts.schedules.ScheduleAvailabilityEvent;
+import com.tenniscourts.schedules.ScheduleRepository;
+import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Guests waiting for a booked schedule, promoted into a reservation in the order they joined
+ * once the schedule is freed by a cancellation or a reschedule.
+ * <p>
+ * Entries are persisted before they are queued and the queues are rebuilt from the database at
+ * startup. Joining only appends to the lock-free queue of the schedule. Promotions run on a
+ * virtual thread after the freeing transaction has committed, under the booking stripe of the
+ * schedule: a direct booking and a waiter never both get the slot, and an entry is marked
+ * promoted in the same transaction that books its reservation.
+ * <p>
+ * An entry is only dropped from its queue when the booking rejects it. When the promotion fails
+ * for any other reason, such as a lost database connection, the entry stays at the head and the
+ * promotion is retried after {@code tenniscourts.waitlist.retry-delay-ms}. On the same delay,
+ * queues whose schedule has started or that ran empty are dropped from memory: nobody can be
+ * promoted into them any more.
+ */
+@Service
+@Log
+public class WaitlistService {
+
+    private final ConcurrentMap<Long, WaitingQueue> waitingQueuesBySchedule = new ConcurrentHashMap<>();
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+
+    private final WaitlistMapper waitlistMapper;
+
+    private final ScheduleRepository scheduleRepository;
+
+    private final GuestRepository guestRepository;
+
+    private final ReservationRepository reservationRepository;
+
+    private final ReservationService reservationService;
+
+    private final ScheduleBookingLocks scheduleBookingLocks;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor executor;
+
+    private final long retryDelayMillis;
+
+    @Autowired
+    public WaitlistService(WaitlistEntryRepository waitlistEntryRepository, WaitlistMapper waitlistMapper,
+                           ScheduleRepository scheduleRepository, GuestRepository guestRepository,
+                           ReservationRepository reservationRepository, ReservationService reservationService,
+                           ScheduleBookingLocks scheduleBookingLocks, TransactionTemplate transactionTemplate,
+                           @Value("${tenniscourts.waitlist.retry-delay-ms:1000}") long retryDelayMillis) {
+        this(waitlistEntryRepository, waitlistMapper, scheduleRepository, guestRepository, reservationRepository,
+                reservationService, scheduleBookingLocks, transactionTemplate, Executors.newVirtualThreadPerTaskExecutor(), retryDelayMillis);
+    }
+
+    WaitlistService(WaitlistEntryRepository waitlistEntryRepository, WaitlistMapper waitlistMapper,
+                    ScheduleRepository scheduleRepository, GuestRepository guestRepository,
+                    ReservationRepository reservationRepository, ReservationService reservationService,
+                    ScheduleBookingLocks scheduleBookingLocks, TransactionTemplate transactionTemplate, Executor executor,
+                    long retryDelayMillis) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.waitlistMapper = waitlistMapper;
+        this.scheduleRepository = scheduleRepository;
+        this.guestRepository = guestRepository;
+        this.reservationRepository = reservationRepository;
+        this.reservationService = reservationService;
+        this.scheduleBookingLocks = scheduleBookingLocks;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    public WaitlistEntryDTO joinWaitlist(Long scheduleId, CreateWaitlistEntryRequestDTO createWaitlistEntryRequestDTO) {
+        var joined = transactionTemplate.execute(status -> this.join(scheduleId, createWaitlistEntryRequestDTO.getGuestId()));
+        var entry = joined.entry();
+        // Queued after commit, so a promotion never reads an entry that is not in the database yet.
+        this.enqueue(scheduleId, joined.startDateTime(), entry.getId());
+        if (!this.isBooked(scheduleId)) {
+            // The schedule was freed while this guest was joining; its promotion may have run before the entry was queued.
+            this.schedulePromotion(scheduleId);
+        }
+        return entry;
+    }
+
+    private Joined join(Long scheduleId, Long guestId) {
+        var schedule = scheduleRepository.findById(scheduleId).orElseThrow(() -> {
+            throw new EntityNotFoundException("Schedule not found.");
+        });
+        var guest = guestRepository.findById(guestId).orElseThrow(() -> {
+            throw new EntityNotFoundException("Guest not found.");
+        });
+        if (schedule.getStartDateTime().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Can wait only for future schedules.");
+        }
+        if (!this.isBooked(scheduleId)) {
+            throw new BusinessException("Schedule is free, book it instead.");
+        }
+        if (waitlistEntryRepository.existsBySchedule_IdAndGuest_IdAndStatus(scheduleId, guestId, WaitlistStatus.WAITING)) {
+            throw new AlreadyExistsEntityException("Guest is already waiting for this schedule.");
+        }
+
+        var entry = waitlistEntryRepository.save(WaitlistEntry.builder()
+                .schedule(schedule)
+                .guest(guest)
+                .status(WaitlistStatus.WAITING)
+                .build());
+        var entryDTO = waitlistMapper.map(entry);
+        entryDTO.setPosition(waitlistEntryRepository.countBySchedule_IdAndStatusAndIdLessThanEqual(scheduleId, WaitlistStatus.WAITING, entry.getId()));
+        return new Joined(entryDTO, schedule.getStartDateTime());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(ScheduleAvailabilityEvent event) {
+        if (event.getType() == ScheduleAvailabilityEvent.Type.FREED) {
+            this.schedulePromotion(event.getSchedule().getId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildQueues() {
+        waitlistEntryRepository.findByStatusOrderById(WaitlistStatus.WAITING)
+                .forEach(entry -> this.enqueue(entry.getSchedule().getId(), entry.getSchedule().getStartDateTime(), entry.getId()));
+        // A schedule freed just before a restart still gets its waiter promoted.
+        waitingQueuesBySchedule.keySet().forEach(this::schedulePromotion);
+        this.scheduleSweep();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private void schedulePromotion(Long scheduleId) {
+        var queue = waitingQueuesBySchedule.get(scheduleId);
+        if (queue != null && !queue.entryIds().isEmpty()) {
+            // Off the freeing thread: it may still hold the stripe of another schedule.
+            executor.execute(() -> this.promoteNext(scheduleId, queue));
+        }
+    }
+
+    private void scheduleSweep() {
+        CompletableFuture.delayedExecutor(retryDelayMillis, TimeUnit.MILLISECONDS, executor).execute(() -> {
+            try {
+                this.dropFinishedQueues(LocalDateTime.now());
+            } finally {
+                this.scheduleSweep();
+            }
+        });
+    }
+
+    /**
+     * Drops the queues of schedules that started before {@code now}, and the ones left empty.
+     */
+    void dropFinishedQueues(LocalDateTime now) {
+        waitingQueuesBySchedule.keySet().forEach(scheduleId -> waitingQueuesBySchedule.computeIfPresent(scheduleId,
+                // Atomic with enqueue, so an entry is never offered to a queue that was just dropped.
+                (id, queue) -> queue.entryIds().isEmpty() || queue.startDateTime().isBefore(now) ? null : queue));
+    }
+
+    int waitingQueueCount() {
+        return waitingQueuesBySchedule.size();
+    }
+
+    private void promoteNext(Long scheduleId, WaitingQueue waitingQueue) {
+        var queue = waitingQueue.entryIds();
+        scheduleBookingLocks.withLock(scheduleId, () -> {
+            // Only the stripe holder takes entries off the queue, so the head stays the same
+            // between peek and poll while other guests keep joining at the tail.
+            Long entryId;
+            while ((entryId = queue.peek()) != null) {
+                var promotion = this.tryPromote(scheduleId, entryId);
+                if (promotion == Promotion.BLOCKED) {
+                    return null;
+                }
+                if (promotion == Promotion.EXPIRED) {
+                    // Nobody can be booked into a schedule that already started.
+                    waitingQueuesBySchedule.remove(scheduleId, waitingQueue);
+                    return null;
+                }
+                if (promotion == Promotion.FAILED) {
+                    // The entry is still waiting in the database, so it keeps its place.
+                    CompletableFuture.delayedExecutor(retryDelayMillis, TimeUnit.MILLISECONDS, executor)
+                            .execute(() -> this.promoteNext(scheduleId, waitingQueue));
+                    return null;
+                }
+                queue.poll();
+                if (promotion == Promotion.PROMOTED) {
+                    return null;
+                }
+            }
+            return null;
+        });
+    }
+
+    private Promotion tryPromote(Long scheduleId, Long entryId) {
+        try {
+            return transactionTemplate.execute(status -> this.promote(scheduleId, entryId));
+        } catch (EntityNotFoundException | BusinessException | AlreadyExistsEntityException | IllegalArgumentException e) {
+            log.log(Level.WARNING, "Waitlist entry " + entryId + " of schedule " + scheduleId + " was rejected, skipped: " + e.getMessage());
+            return Promotion.SKIPPED;
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, "Waitlist entry " + entryId + " of schedule " + scheduleId + " could not be promoted, retrying in " + retryDelayMillis + " ms.", e);
+            return Promotion.FAILED;
+        }
+    }
+
+    private Promotion promote(Long scheduleId, Long entryId) {
+        var entry = waitlistEntryRepository.findById(entryId).orElse(null);
+        if (entry == null || entry.getStatus() != WaitlistStatus.WAITING) {
+            return Promotion.SKIPPED;
+        }
+        if (entry.getSchedule().getStartDateTime().isBefore(LocalDateTime.now())) {
+            return Promotion.EXPIRED;
+        }
+        if (this.isBooked(scheduleId)) {
+            return Promotion.BLOCKED;
+        }
+
+        // Joins this transaction, the entry and the reservation commit together.
+        var reservation = reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(entry.getGuest().getId())
+                .scheduleId(scheduleId)
+                .build());
+        entry.setStatus(WaitlistStatus.PROMOTED);
+        entry.setReservationId(reservation.getId());
+        log.info("Waitlist entry " + entryId + " promoted into reservation " + reservation.getId() + " of schedule " + scheduleId + ".");
+        return Promotion.PROMOTED;
+    }
+
+    private boolean isBooked(Long scheduleId) {
+        return reservationRepository.existsBySchedule_IdAndReservationStatus(scheduleId, ReservationStatus.READY_TO_PLAY);
+    }
+
+    private void enqueue(Long scheduleId, LocalDateTime startDateTime, Long entryId) {
+        waitingQueuesBySchedule.compute(scheduleId, (id, queue) -> {
+            var waitingQueue = queue != null ? queue : new WaitingQueue(startDateTime, new ConcurrentLinkedQueue<>());
+            waitingQueue.entryIds().offer(entryId);
+            return waitingQueue;
+        });
+    }
+
+    private record Joined(WaitlistEntryDTO entry, LocalDateTime startDateTime) {
+    }
+
+    private record WaitingQueue(LocalDateTime startDateTime, Queue<Long> entryIds) {
+    }
+
+    private enum Promotion {
+        PROMOTED,
+        SKIPPED,
+        BLOCKED,
+        EXPIRED,
+        FAILED
+    }
+}
@@ -0,0 +1,6 @@
+package com.tenniscourts.waitlist;
+
+public enum WaitlistStatus {
+    WAITING,
+    PROMOTED
+}
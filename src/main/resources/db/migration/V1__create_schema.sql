@@ -0,0 +1,165 @@
+-- Schema of the prod profile, validated against the entity mappings at startup
+-- (spring.jpa.hibernate.ddl-auto=validate). Change it with a new V<n>__*.sql migration,
+-- never by editing an applied one. Ids come from <table>_seq in blocks of 50, see
+-- PooledSequenceGenerator; enums are stored by ordinal and money in minor units.
+
+create sequence guest_seq start with 1 increment by 50;
+
+create sequence tennis_court_seq start with 1 increment by 50;
+
+create sequence schedule_seq start with 1 increment by 50;
+
+create sequence reservation_seq start with 1 increment by 50;
+
+create sequence waitlist_entry_seq start with 1 increment by 50;
+
+create sequence reservation_event_seq start with 1 increment by 50;
+
+create sequence audit_log_seq start with 1 increment by 50;
+
+create table guest (
+    id bigint not null,
+    name varchar(255) not null,
+    date_create timestamp(6),
+    date_update timestamp(6),
+    user_create bigint,
+    user_update bigint,
+    ip_number_create varchar(255),
+    ip_number_update varchar(255),
+    constraint pk_guest primary key (id)
+);
+
+create table tennis_court (
+    id bigint not null,
+    name varchar(255) not null,
+    date_create timestamp(6),
+    date_update timestamp(6),
+    user_create bigint,
+    user_update bigint,
+    ip_number_create varchar(255),
+    ip_number_update varchar(255),
+    constraint pk_tennis_court primary key (id)
+);
+
+create table schedule (
+    id bigint not null,
+    tennis_court_id bigint not null,
+    start_date_time timestamp(6) not null,
+    end_date_time timestamp(6) not null,
+    date_create timestamp(6),
+    date_update timestamp(6),
+    user_create bigint,
+    user_update bigint,
+    ip_number_create varchar(255),
+    ip_number_update varchar(255),
+    constraint pk_schedule primary key (id),
+    constraint fk_schedule_tennis_court foreign key (tennis_court_id) references tennis_court (id)
+);
+
+create index idx_schedule_start_date_time_tennis_court on schedule (start_date_time, tennis_court_id);
+
+create index idx_schedule_tennis_court_start_date_time on schedule (tennis_court_id, start_date_time);
+
+create table reservation (
+    id bigint not null,
+    guest_id bigint,
+    schedule_id bigint not null,
+    reservation_status tinyint not null check (reservation_status between 0 and 2),
+    value_minor_units bigint not null,
+    refund_value_minor_units bigint,
+    date_create timestamp(6),
+    date_update timestamp(6),
+    user_create bigint,
+    user_update bigint,
+    ip_number_create varchar(255),
+    ip_number_update varchar(255),
+    constraint pk_reservation primary key (id),
+    constraint fk_reservation_guest foreign key (guest_id) references guest (id),
+    constraint fk_reservation_schedule foreign key (schedule_id) references schedule (id)
+);
+
+create index idx_reservation_schedule_status on reservation (schedule_id, reservation_status);
+
+create index idx_reservation_guest on reservation (guest_id);
+
+create table waitlist_entry (
+    id bigint not null,
+    guest_id bigint not null,
+    schedule_id bigint not null,
+    status tinyint not null check (status between 0 and 1),
+    reservation_id bigint,
+    date_create timestamp(6),
+    date_update timestamp(6),
+    user_create bigint,
+    user_update bigint,
+    ip_number_create varchar(255),
+    ip_number_update varchar(255),
+    constraint pk_waitlist_entry primary key (id),
+    constraint fk_waitlist_entry_guest foreign key (guest_id) references guest (id),
+    constraint fk_waitlist_entry_schedule foreign key (schedule_id) references schedule (id)
+);
+
+create index idx_waitlist_entry_schedule_status on waitlist_entry (schedule_id, status);
+
+create table schedule_history (
+    id bigint not null,
+    tennis_court_id bigint,
+    start_date_time timestamp(6),
+    end_date_time timestamp(6),
+    archived_at timestamp(6),
+    date_create timestamp(6),
+    date_update timestamp(6),
+    user_create bigint,
+    user_update bigint,
+    ip_number_create varchar(255),
+    ip_number_update varchar(255),
+    constraint pk_schedule_history primary key (id),
+    constraint fk_schedule_history_tennis_court foreign key (tennis_court_id) references tennis_court (id)
+);
+
+create index idx_schedule_history_start_date_time on schedule_history (start_date_time);
+
+create table reservation_history (
+    id bigint not null,
+    guest_id bigint,
+    schedule_id bigint,
+    reservation_status tinyint check (reservation_status between 0 and 2),
+    value_minor_units bigint,
+    refund_value_minor_units bigint,
+    archived_at timestamp(6),
+    date_create timestamp(6),
+    date_update timestamp(6),
+    user_create bigint,
+    user_update bigint,
+    ip_number_create varchar(255),
+    ip_number_update varchar(255),
+    constraint pk_reservation_history primary key (id),
+    constraint fk_reservation_history_guest foreign key (guest_id) references guest (id),
+    constraint fk_reservation_history_schedule foreign key (schedule_id) references schedule_history (id)
+);
+
+create index idx_reservation_history_schedule on reservation_history (schedule_id);
+
+create table reservation_event (
+    id bigint not null,
+    type tinyint not null check (type between 0 and 2),
+    reservation_id bigint not null,
+    previous_reservation_id bigint,
+    guest_id bigint not null,
+    schedule_id bigint not null,
+    value_minor_units bigint not null,
+    refund_value_minor_units bigint,
+    occurred_at timestamp(6) not null,
+    constraint pk_reservation_event primary key (id)
+);
+
+create table audit_log (
+    id bigint not null,
+    entity_name varchar(255),
+    entity_id bigint,
+    action varchar(255) check (action in ('CREATE', 'UPDATE')),
+    user_id bigint,
+    ip_number varchar(255),
+    date_time timestamp(6),
+    constraint pk_audit_log primary key (id)
+);
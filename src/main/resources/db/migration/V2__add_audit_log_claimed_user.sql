@@ -0,0 +1,2 @@
+-- The user a request claimed to act for, recorded apart from the authenticated user.
+alter table audit_log add column claimed_user_id bigint;
@@ -0,0 +1,101 @@
+package com.tenniscourts;
+
+import com.tenniscourts.config.metrics.StatementCountFilter;
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.reservations.ReservationService;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A matching {@code If-None-Match} is answered with 304 and no SQL statement, until a booking or
+ * cancellation changes the resource.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ConditionalGetTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    TennisCourtRepository tennisCourtRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    GuestRepository guestRepository;
+
+    @Test
+    public void freeSchedulesShouldBeRevalidatedWithoutStatementsUntilBooked() throws Exception {
+        var tennisCourt = tennisCourtRepository.save(new TennisCourt("Conditional court"));
+        var start = LocalDateTime.now().plusYears(3).withNano(0);
+        var schedule = scheduleRepository.save(Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(start)
+                .endDateTime(start.plusHours(1))
+                .build());
+        var guest = guestRepository.save(Guest.builder().name("Conditional guest").build());
+        var uri = "/tennis-court/" + tennisCourt.getId() + "/schedules/free";
+
+        var eTag = this.fetchETag(uri);
+        double statementsBefore = this.statements("/tennis-court/{tennisCourtId}/schedules/free");
+        assertTrue(statementsBefore > 0);
+        mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+        assertEquals(statementsBefore, this.statements("/tennis-court/{tennisCourtId}/schedules/free"));
+
+        var reservation = reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(guest.getId())
+                .scheduleId(schedule.getId())
+                .build());
+        mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isOk());
+
+        var reservationUri = "/reservation/" + reservation.getId();
+        var reservationETag = this.fetchETag(reservationUri);
+        mockMvc.perform(get(reservationUri).header(HttpHeaders.IF_NONE_MATCH, "W/" + reservationETag)).andExpect(status().isNotModified());
+        reservationService.cancelReservation(reservation.getId());
+        assertNotEquals(reservationETag, this.fetchETag(reservationUri));
+    }
+
+    private String fetchETag(String uri) throws Exception {
+        var eTag = mockMvc.perform(get(uri)).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+
+    private double statements(String uri) {
+        var summary = meterRegistry.find(StatementCountFilter.METRIC_NAME).tag("uri", uri).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
@@ -0,0 +1,79 @@
+package com.tenniscourts;
+
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.reservations.ReservationService;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Starts the prod profile on an empty database: the migrations must build a schema that
+ * Hibernate validates against the entities, and a booking must go through on it.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prod-profile;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("prod")
+public class ProdProfileTest {
+
+    @Autowired
+    Flyway flyway;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    TennisCourtRepository tennisCourtRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    GuestRepository guestRepository;
+
+    @Test
+    public void migrationsShouldBuildTheValidatedSchemaWithoutSeedData() {
+        assertEquals("2", flyway.info().current().getVersion().getVersion());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from guest", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from information_schema.indexes "
+                + "where index_name = 'IDX_RESERVATION_SCHEDULE_STATUS'", Integer.class));
+        assertFalse(applicationContext.getBeanFactory().getBeanDefinition("archivalJob").isLazyInit());
+
+        var tennisCourt = tennisCourtRepository.save(new TennisCourt("Prod court"));
+        var guest = guestRepository.save(Guest.builder().name("Prod guest").build());
+        var start = LocalDateTime.now().plusYears(1).withNano(0);
+        var schedule = scheduleRepository.save(Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(start)
+                .endDateTime(start.plusHours(1))
+                .build());
+        var reservation = reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(guest.getId())
+                .scheduleId(schedule.getId())
+                .build());
+        assertNotNull(reservationService.cancelReservation(reservation.getId()).getRefundValue());
+    }
+}
@@ -0,0 +1,149 @@
+package com.tenniscourts;
+
+import com.tenniscourts.config.metrics.StatementCountInspector;
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.reservations.ReservationDTO;
+import com.tenniscourts.reservations.ReservationService;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleOccupancyIndex;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.schedules.ScheduleService;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import com.tenniscourts.tenniscourts.TennisCourtService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Locks the read paths to a fixed number of SQL statements, whatever the number of courts,
+ * guests and slots involved, so a lazy association touched while mapping shows up as a failure.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class ReadQueryCountTest {
+
+    private static final int TENNIS_COURTS = 3;
+
+    private static final int SLOTS_PER_COURT = 10;
+
+    private static final AtomicInteger FIXTURES = new AtomicInteger();
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    ScheduleService scheduleService;
+
+    @Autowired
+    TennisCourtService tennisCourtService;
+
+    @Autowired
+    TennisCourtRepository tennisCourtRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    GuestRepository guestRepository;
+
+    @Autowired
+    ScheduleOccupancyIndex occupancyIndex;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    private final List<TennisCourt> tennisCourts = new ArrayList<>();
+
+    private final List<Schedule> schedules = new ArrayList<>();
+
+    private LocalDateTime start;
+
+    private ReservationDTO reservation;
+
+    @Before
+    public void setUp() {
+        // Every test gets its own day, the application context and its data are shared.
+        start = LocalDateTime.now().plusYears(10).plusDays(FIXTURES.incrementAndGet()).withNano(0);
+        for (int court = 0; court < TENNIS_COURTS; court++) {
+            var tennisCourt = tennisCourtRepository.save(new TennisCourt("Query count court " + court));
+            tennisCourts.add(tennisCourt);
+            for (int slot = 0; slot < SLOTS_PER_COURT; slot++) {
+                schedules.add(scheduleRepository.save(Schedule.builder()
+                        .tennisCourt(tennisCourt)
+                        .startDateTime(start.plusHours(slot).plusMinutes(court))
+                        .endDateTime(start.plusHours(slot + 1).plusMinutes(court))
+                        .build()));
+            }
+        }
+        for (int i = 0; i < TENNIS_COURTS; i++) {
+            var guest = guestRepository.save(Guest.builder().name("Query count guest " + i).build());
+            reservation = reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                    .guestId(guest.getId())
+                    .scheduleId(schedules.get(i * SLOTS_PER_COURT).getId())
+                    .build());
+        }
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @After
+    public void tearDown() {
+        StatementCountInspector.clear();
+    }
+
+    @Test
+    public void findReservationShouldUseOneStatement() {
+        var found = countStatements(1, () -> reservationService.findReservation(reservation.getId()));
+
+        assertEquals(reservation.getId(), found.getId());
+        assertEquals(tennisCourts.get(TENNIS_COURTS - 1).getName(), found.getSchedule().getTennisCourt().getName());
+    }
+
+    @Test
+    public void findFreeSchedulesShouldUseOneStatementForTheCourtAndOneForItsSlots() {
+        var tennisCourt = tennisCourts.get(0);
+        occupancyIndex.evict(tennisCourt.getId());
+
+        var found = countStatements(2, () -> tennisCourtService.findTennisCourtWithFreeSchedulesById(tennisCourt.getId()));
+
+        assertEquals(SLOTS_PER_COURT - 1, found.getTennisCourtSchedules().size());
+    }
+
+    @Test
+    public void findSchedulesByDatesShouldUseOneStatementPerPage() {
+        var page = countStatements(1, () -> scheduleService.findSchedulesByDates(start, start.plusDays(1), null, 100));
+
+        assertEquals(TENNIS_COURTS * SLOTS_PER_COURT, page.getSchedules().size());
+    }
+
+    @Test
+    public void findScheduleShouldUseOneStatement() {
+        var found = countStatements(1, () -> scheduleService.findSchedule(schedules.get(0).getId()));
+
+        assertEquals(tennisCourts.get(0).getName(), found.getTennisCourt().getName());
+    }
+
+    private static <T> T countStatements(int expectedStatements, Supplier<T> action) {
+        StatementCountInspector.reset();
+        var result = action.get();
+        assertEquals(expectedStatements, StatementCountInspector.count());
+        return result;
+    }
+}
@@ -0,0 +1,107 @@
+package com.tenniscourts.archive;
+
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.money.Money;
+import com.tenniscourts.reservations.Reservation;
+import com.tenniscourts.reservations.ReservationHistoryRepository;
+import com.tenniscourts.reservations.ReservationRepository;
+import com.tenniscourts.reservations.ReservationService;
+import com.tenniscourts.reservations.ReservationStatus;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleHistoryRepository;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.schedules.ScheduleService;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "tenniscourts.archive.chunk-size=2")
+@ActiveProfiles("test")
+public class ArchivalJobTest {
+
+    @Autowired
+    ArchivalJob archivalJob;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    ScheduleService scheduleService;
+
+    @Autowired
+    TennisCourtRepository tennisCourtRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    ScheduleHistoryRepository scheduleHistoryRepository;
+
+    @Autowired
+    ReservationRepository reservationRepository;
+
+    @Autowired
+    ReservationHistoryRepository reservationHistoryRepository;
+
+    @Autowired
+    GuestRepository guestRepository;
+
+    @Test
+    public void archiveShouldMovePastSchedulesInChunksAndKeepThemFindableById() {
+        var cutoff = LocalDateTime.of(2000, 1, 1, 0, 0);
+        var tennisCourt = tennisCourtRepository.save(new TennisCourt("Archived court"));
+        var guest = guestRepository.save(Guest.builder().name("Archived guest").build());
+        var pastSchedules = new ArrayList<Schedule>();
+        for (int slot = 0; slot < 5; slot++) {
+            pastSchedules.add(this.saveSchedule(tennisCourt, cutoff.minusDays(1).plusHours(slot)));
+        }
+        var recentSchedule = this.saveSchedule(tennisCourt, cutoff.plusHours(1));
+        var reservation = reservationRepository.save(Reservation.builder()
+                .guest(guest)
+                .schedule(pastSchedules.get(0))
+                .value(Money.of(10))
+                .refundValue(Money.ZERO)
+                .reservationStatus(ReservationStatus.READY_TO_PLAY)
+                .build());
+
+        var result = archivalJob.archive(cutoff);
+
+        assertEquals(5, result.getArchivedSchedules());
+        assertEquals(1, result.getArchivedReservations());
+        assertEquals(3, result.getChunks());
+        assertFalse(scheduleRepository.existsById(pastSchedules.get(4).getId()));
+        assertFalse(reservationRepository.existsById(reservation.getId()));
+        assertTrue(scheduleHistoryRepository.existsById(pastSchedules.get(4).getId()));
+        assertTrue(reservationHistoryRepository.existsById(reservation.getId()));
+        assertTrue(scheduleRepository.existsById(recentSchedule.getId()));
+
+        var archivedReservation = reservationService.findReservation(reservation.getId());
+        assertEquals(pastSchedules.get(0).getId(), archivedReservation.getSchedule().getId());
+        assertEquals(tennisCourt.getName(), archivedReservation.getSchedule().getTennisCourt().getName());
+        assertEquals(Money.of(10), archivedReservation.getValue());
+        assertEquals(cutoff.minusDays(1).plusHours(4), scheduleService.findSchedule(pastSchedules.get(4).getId()).getStartDateTime());
+    }
+
+    private Schedule saveSchedule(TennisCourt tennisCourt, LocalDateTime startDateTime) {
+        return scheduleRepository.save(Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(startDateTime)
+                .endDateTime(startDateTime.plusHours(1))
+                .build());
+    }
+}
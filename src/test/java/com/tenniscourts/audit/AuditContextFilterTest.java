@@ -0,0 +1,42 @@
+package com.tenniscourts.audit;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AuditContextFilterTest {
+
+    private final AuditContextFilter auditContextFilter = new AuditContextFilter();
+
+    @Test
+    public void headersShouldNeitherNameTheUserNorItsAddress() throws Exception {
+        var request = new MockHttpServletRequest("POST", "/reservation");
+        request.setRemoteAddr("10.0.0.9");
+        request.addHeader("X-Forwarded-For", "203.0.113.7");
+        request.addHeader(AuditContextFilter.USER_ID_HEADER, "42");
+
+        var actor = this.actorOf(request);
+
+        assertEquals(CustomAuditEntityListener.USER_SYSTEM_ID, actor.getUserId());
+        assertEquals(42L, actor.getClaimedUserId());
+        assertEquals("10.0.0.9", actor.getIpNumber());
+    }
+
+    @Test
+    public void authenticatedPrincipalShouldBeTheUser() throws Exception {
+        var request = new MockHttpServletRequest("POST", "/reservation");
+        request.setUserPrincipal(() -> "7");
+
+        assertEquals(7L, this.actorOf(request).getUserId());
+    }
+
+    private AuditActor actorOf(MockHttpServletRequest request) throws Exception {
+        var actor = new AtomicReference<AuditActor>();
+        auditContextFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> actor.set(AuditContext.current()));
+        return actor.get();
+    }
+}
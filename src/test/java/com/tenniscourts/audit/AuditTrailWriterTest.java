@@ -0,0 +1,64 @@
+package com.tenniscourts.audit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AuditTrailWriterTest {
+
+    @Mock
+    AuditLogRepository auditLogRepository;
+
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Test
+    public void submitShouldDropRecordsWhenQueueIsFull() {
+        var auditTrailWriter = new AuditTrailWriter(auditLogRepository, transactionTemplate, 2, 10, 50, 0);
+
+        assertTrue(auditTrailWriter.submit(this.createAuditLog(1L)));
+        assertTrue(auditTrailWriter.submit(this.createAuditLog(2L)));
+        assertFalse(auditTrailWriter.submit(this.createAuditLog(3L)));
+
+        assertEquals(1, auditTrailWriter.getDroppedRecords());
+        assertEquals(2, auditTrailWriter.getPendingRecords());
+    }
+
+    @Test
+    public void queuedRecordsShouldBeWrittenInBatchesOffTheCallerThread() throws InterruptedException {
+        var auditTrailWriter = new AuditTrailWriter(auditLogRepository, transactionTemplate, 10, 10, 50, 0);
+        auditTrailWriter.submit(this.createAuditLog(1L));
+        auditTrailWriter.submit(this.createAuditLog(2L));
+
+        auditTrailWriter.start();
+        verify(auditLogRepository, timeout(1000)).saveAll(anyList());
+        auditTrailWriter.stop();
+
+        assertEquals(2, auditTrailWriter.getWrittenRecords());
+        assertEquals(0, auditTrailWriter.getPendingRecords());
+    }
+
+    private AuditLog createAuditLog(Long entityId) {
+        return AuditLog.builder()
+                .entityName("Reservation")
+                .entityId(entityId)
+                .action(AuditAction.CREATE)
+                .userId(CustomAuditEntityListener.USER_SYSTEM_ID)
+                .ipNumber("10.0.0.1")
+                .dateTime(LocalDateTime.of(2030, 1, 1, 10, 0))
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.tenniscourts.availability;
+
+import com.tenniscourts.exceptions.EntityNotFoundException;
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.reservations.ReservationService;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class AvailabilityServiceTest {
+
+    @Autowired
+    AvailabilityService availabilityService;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    TennisCourtRepository tennisCourtRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    GuestRepository guestRepository;
+
+    @Test
+    public void availabilityShouldEncodeFreeAndBookedSlotsOfEveryCourt() {
+        var day = LocalDate.now().plusYears(5);
+        var openCourt = tennisCourtRepository.save(new TennisCourt("Availability court"));
+        var closedCourt = tennisCourtRepository.save(new TennisCourt("Closed availability court"));
+        var guest = guestRepository.save(Guest.builder().name("Availability guest").build());
+        Schedule booked = null;
+        for (int hour = 10; hour <= 12; hour++) {
+            var start = day.atTime(hour, 0);
+            var schedule = scheduleRepository.save(Schedule.builder()
+                    .tennisCourt(openCourt)
+                    .startDateTime(start)
+                    .endDateTime(start.plusHours(1))
+                    .build());
+            if (hour == 11) {
+                booked = schedule;
+            }
+        }
+        reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(guest.getId())
+                .scheduleId(booked.getId())
+                .build());
+
+        var hourly = availabilityService.findAvailability(List.of(openCourt.getId(), closedCourt.getId()),
+                day.atStartOfDay(), day.plusDays(1).atStartOfDay(), 60);
+        assertEquals(24, hourly.getCells());
+        assertEquals(openCourt.getId(), hourly.getCourts().get(0).getTennisCourtId());
+        assertEquals("10-1F1B1F11-", hourly.getCourts().get(0).getRuns());
+        assertEquals(2, hourly.getCourts().get(0).getFreeCells());
+        assertEquals("24-", hourly.getCourts().get(1).getRuns());
+
+        var halfHourly = availabilityService.findAvailability(List.of(openCourt.getId()),
+                day.atStartOfDay(), day.plusDays(1).atStartOfDay(), 30);
+        assertEquals("20-2F2B2F22-", halfHourly.getCourts().get(0).getRuns());
+
+        assertThrows(EntityNotFoundException.class, () -> availabilityService.findAvailability(List.of(openCourt.getId(), 987654L),
+                day.atStartOfDay(), day.plusDays(1).atStartOfDay(), 60));
+    }
+}
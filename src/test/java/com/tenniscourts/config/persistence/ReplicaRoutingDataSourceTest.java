@@ -0,0 +1,78 @@
+package com.tenniscourts.config.persistence;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routes between in-memory H2 databases, one for the primary and one per replica, and reads
+ * back which one answered.
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @Before
+    public void setUp() {
+        var routing = new ReplicaRoutingDataSource(h2("primary"), List.of(h2("replica0"), h2("replica1")), Duration.ofMinutes(1));
+        var dataSource = new LazyConnectionDataSourceProxy(routing);
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @After
+    public void tearDown() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    public void readOnlyTransactionsShouldBeSpreadOverReplicas() {
+        assertEquals("REPLICA0", this.databaseOf(readOnly));
+        assertEquals("REPLICA1", this.databaseOf(readOnly));
+        assertEquals("REPLICA0", this.databaseOf(readOnly));
+        assertEquals("PRIMARY", jdbcTemplate.queryForObject("select database()", String.class));
+        assertEquals("PRIMARY", ReplicaRoutingContext.onPrimary(() -> this.databaseOf(readOnly)));
+    }
+
+    @Test
+    public void readsShouldStayOnPrimaryAfterAWrite() {
+        var announced = new long[1];
+        ReplicaRoutingContext.set(0L, primaryUntil -> announced[0] = primaryUntil);
+
+        assertEquals("PRIMARY", this.databaseOf(readWrite));
+        assertEquals("PRIMARY", this.databaseOf(readOnly));
+        assertTrue(announced[0] > System.currentTimeMillis());
+
+        ReplicaRoutingContext.clear();
+        assertEquals("REPLICA0", this.databaseOf(readOnly));
+    }
+
+    private String databaseOf(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select database()", String.class));
+    }
+
+    private static DataSource h2(String name) {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,128 @@
+package com.tenniscourts.config.persistence;
+
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.reservations.ReservationService;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import jakarta.servlet.http.Cookie;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against two separate in-memory H2 databases that never replicate, so a
+ * row tells which one answered: a court written through the API exists on the primary only and
+ * a court inserted straight into the replica exists there only. Rows saved by the test itself go
+ * to the primary only too.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingIntegrationTest.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "tenniscourts.datasource.replica.urls=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "tenniscourts.datasource.replica.stickiness-ms=60000",
+        "spring.jpa.open-in-view=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReplicaRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:replica-routing-primary;DB_CLOSE_DELAY=-1";
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static final long REPLICA_ONLY_COURT_ID = 900L;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    TennisCourtRepository tennisCourtRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    GuestRepository guestRepository;
+
+    @BeforeClass
+    public static void createReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""))
+                .update("insert into tennis_court(id, name) values(?, 'Replica only court')", REPLICA_ONLY_COURT_ID);
+    }
+
+    @Test
+    public void readsShouldHitTheReplicaUnlessTheClientJustWrote() throws Exception {
+        var created = mockMvc.perform(post("/tennis-court")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Primary only court\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+        var location = created.getHeader("Location");
+        var primaryOnlyCourtId = Long.parseLong(location.substring(location.lastIndexOf('/') + 1));
+        Cookie readPrimary = created.getCookie(ReplicaStickinessFilter.COOKIE_NAME);
+        assertNotNull(readPrimary);
+
+        mockMvc.perform(this.availabilityOf(REPLICA_ONLY_COURT_ID)).andExpect(status().isOk());
+        mockMvc.perform(this.availabilityOf(primaryOnlyCourtId)).andExpect(status().isNotFound());
+
+        mockMvc.perform(this.availabilityOf(primaryOnlyCourtId).cookie(readPrimary)).andExpect(status().isOk());
+        mockMvc.perform(this.availabilityOf(REPLICA_ONLY_COURT_ID).cookie(readPrimary)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void taggedReservationShouldBeReadFromThePrimary() throws Exception {
+        var tennisCourt = tennisCourtRepository.save(new TennisCourt("Tagged court"));
+        var guest = guestRepository.save(Guest.builder().name("Tagged guest").build());
+        var start = LocalDateTime.now().plusDays(2).withNano(0);
+        var schedule = scheduleRepository.save(Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(start)
+                .endDateTime(start.plusHours(1))
+                .build());
+        var reservation = reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(guest.getId())
+                .scheduleId(schedule.getId())
+                .build());
+        ReplicaRoutingContext.clear();
+
+        // The replica never sees the reservation, so only a read on the primary finds it.
+        mockMvc.perform(get("/reservation/" + reservation.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    private MockHttpServletRequestBuilder availabilityOf(long tennisCourtId) {
+        var day = LocalDate.now().plusDays(1).toString();
+        return get("/availability").param("courts", Long.toString(tennisCourtId)).param("from", day).param("to", day);
+    }
+}
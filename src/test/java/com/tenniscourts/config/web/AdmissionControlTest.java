@@ -0,0 +1,56 @@
+package com.tenniscourts.config.web;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "tenniscourts.admission.guest.rate-per-second=0.01",
+        "tenniscourts.admission.guest.burst=1"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AdmissionControlTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    public void guestOverItsRateShouldBeRefusedBeforeTheBooking() throws Exception {
+        var booking = "{\"guestId\": 987654, \"scheduleId\": 987654}";
+        mockMvc.perform(post("/reservation").contentType(MediaType.APPLICATION_JSON).content(booking))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/reservation").contentType(MediaType.APPLICATION_JSON).content(booking))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "100"));
+    }
+
+    @Test
+    public void rateLimiterShouldAllowTheBurstThenOneTokenPerInterval() {
+        var rateLimiter = new RateLimiter(10, 3, 16);
+        long now = TimeUnit.SECONDS.toNanos(1);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0L, rateLimiter.acquire("client", now));
+        }
+        long waitNanos = rateLimiter.acquire("client", now);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), waitNanos);
+        assertEquals(0L, rateLimiter.acquire("other client", now));
+        assertEquals(0L, rateLimiter.acquire("client", now + waitNanos));
+        assertTrue(rateLimiter.acquire("client", now + waitNanos) > 0);
+    }
+}
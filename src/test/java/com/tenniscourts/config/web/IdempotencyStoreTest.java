@@ -0,0 +1,93 @@
+package com.tenniscourts.config.web;
+
+import com.tenniscourts.exceptions.BusinessException;
+import com.tenniscourts.exceptions.EntityNotFoundException;
+import org.junit.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IdempotencyStoreTest {
+
+    private static final int RETRIES = 8;
+
+    private static final MockHttpServletRequest CLIENT = client("10.0.0.1");
+
+    private final IdempotencyStore idempotencyStore = new IdempotencyStore(60, 100, 5000);
+
+    @Test
+    public void concurrentRetriesShouldWaitForTheFirstExecution() throws Exception {
+        var executions = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(RETRIES);
+        var responses = new ArrayList<Future<ResponseEntity<Integer>>>();
+        try {
+            for (int i = 0; i < RETRIES; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return idempotencyStore.execute(CLIENT, "key", "cancel:1", () -> {
+                        sleep(100);
+                        return ResponseEntity.ok(executions.incrementAndGet());
+                    });
+                }));
+            }
+            start.countDown();
+            int replayed = 0;
+            for (Future<ResponseEntity<Integer>> response : responses) {
+                assertEquals(1, response.get().getBody());
+                if (response.get().getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)) {
+                    replayed++;
+                }
+            }
+            assertEquals(1, executions.get());
+            assertEquals(RETRIES - 1, replayed);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThrows(BusinessException.class, () -> idempotencyStore.execute(CLIENT, "key", "cancel:2", () -> ResponseEntity.ok(0)));
+    }
+
+    @Test
+    public void failedExecutionShouldRunAgainOnRetry() {
+        assertThrows(EntityNotFoundException.class, () -> idempotencyStore.execute(CLIENT, "failing", "cancel:1", () -> {
+            throw new EntityNotFoundException("Reservation not found.");
+        }));
+        assertEquals(1, idempotencyStore.execute(CLIENT, "failing", "cancel:1", () -> ResponseEntity.ok(1)).getBody());
+        assertNull(idempotencyStore.execute(CLIENT, null, "cancel:1", () -> ResponseEntity.ok(2)).getHeaders().get(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void keyShouldBeScopedByClientAndStayUsableAfterAnError() {
+        assertEquals(1, idempotencyStore.execute(CLIENT, "shared", "cancel:1", () -> ResponseEntity.ok(1)).getBody());
+        assertEquals(2, idempotencyStore.execute(client("10.0.0.2"), "shared", "cancel:1", () -> ResponseEntity.ok(2)).getBody());
+
+        assertThrows(StackOverflowError.class, () -> idempotencyStore.execute(CLIENT, "error", "cancel:1", () -> {
+            throw new StackOverflowError();
+        }));
+        assertEquals(3, idempotencyStore.execute(CLIENT, "error", "cancel:1", () -> ResponseEntity.ok(3)).getBody());
+    }
+
+    private static MockHttpServletRequest client(String remoteAddress) {
+        var request = new MockHttpServletRequest("POST", "/reservation/1/cancel");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
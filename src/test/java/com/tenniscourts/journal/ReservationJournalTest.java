@@ -0,0 +1,180 @@
+package com.tenniscourts.journal;
+
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.money.Money;
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.reservations.ReservationDTO;
+import com.tenniscourts.reservations.ReservationService;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class ReservationJournalTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Autowired
+    ReservationJournalService reservationJournalService;
+
+    @Autowired
+    ReservationJournal reservationJournal;
+
+    @Autowired
+    ReservationEventRepository reservationEventRepository;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    TennisCourtRepository tennisCourtRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    GuestRepository guestRepository;
+
+    @Test
+    public void journalShouldRollSegmentsAndResumeAfterReopening() throws Exception {
+        var directory = temporaryFolder.newFolder().toPath();
+        try (var journal = new ReservationJournal(directory, 256, 100)) {
+            for (int batch = 0; batch < 10; batch++) {
+                var payloads = new ArrayList<byte[]>();
+                for (int i = 1; i <= 5; i++) {
+                    payloads.add(payload(batch * 5 + i));
+                }
+                assertEquals(batch * 5 + 5, journal.append(payloads));
+            }
+            assertTrue(this.segmentFiles(directory) > 1);
+            assertEquals(List.of("event-37", "event-38", "event-39"), texts(journal.read(37, 3)));
+        }
+
+        try (var journal = new ReservationJournal(directory, 256, 100)) {
+            assertEquals(50, journal.getLastSequence());
+            assertEquals(51, journal.append(List.of(payload(51))));
+            var entries = journal.read(1, 100);
+            assertEquals(51, entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                assertEquals(i + 1, entries.get(i).getSequence());
+                assertEquals("event-" + (i + 1), new String(entries.get(i).getPayload(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void journalShouldOnlyRecordCommittedChanges() throws Exception {
+        var tennisCourt = tennisCourtRepository.save(new TennisCourt("Journal court"));
+        var guest = guestRepository.save(Guest.builder().name("Journal guest").build());
+        var start = LocalDateTime.now().plusYears(4).withNano(0);
+        var rolledBackSchedule = this.saveSchedule(tennisCourt, start);
+        var schedule = this.saveSchedule(tennisCourt, start.plusHours(1));
+        long from = reservationJournal.getLastSequence() + 1;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            this.book(guest, rolledBackSchedule);
+            status.setRollbackOnly();
+        });
+        var reservation = this.book(guest, schedule);
+        reservationService.cancelReservation(reservation.getId());
+
+        var events = new ArrayList<ReservationEventDTO>();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (events.size() < 2 && System.currentTimeMillis() < deadline) {
+            var page = reservationJournalService.readEvents(from, 100, 1000).join();
+            events.addAll(page.getEvents());
+            from = page.getNextSequence();
+        }
+
+        assertEquals(2, events.size());
+        assertEquals(ReservationEventType.BOOKED, events.get(0).getType());
+        assertEquals(ReservationEventType.CANCELLED, events.get(1).getType());
+        assertEquals(reservation.getId(), events.get(0).getReservationId());
+        assertEquals(reservation.getId(), events.get(1).getReservationId());
+        assertEquals(schedule.getId(), events.get(1).getScheduleId());
+        assertEquals(Money.of(10), events.get(1).getRefundValue());
+        assertEquals(events.get(0).getSequence() + 1, events.get(1).getSequence());
+    }
+
+    @Test
+    public void readerShouldWaitForTheNextEventWithoutBlocking() throws Exception {
+        var tennisCourt = tennisCourtRepository.save(new TennisCourt("Long poll court"));
+        var guest = guestRepository.save(Guest.builder().name("Long poll guest").build());
+        var schedule = this.saveSchedule(tennisCourt, LocalDateTime.now().plusYears(4).plusDays(1).withNano(0));
+        // Lets the relay journal what earlier tests left in the outbox, so the next event is ours.
+        long deadline = System.currentTimeMillis() + 5000;
+        while (reservationEventRepository.count() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        long from = reservationJournal.getLastSequence() + 1;
+
+        var page = reservationJournalService.readEvents(from, 100, ReservationJournalService.MAX_WAIT_MILLIS);
+        assertFalse(page.isDone());
+        var reservation = this.book(guest, schedule);
+
+        var events = page.join().getEvents();
+        assertEquals(1, events.size());
+        assertEquals(reservation.getId(), events.get(0).getReservationId());
+
+        var empty = reservationJournalService.readEvents(from + 1, 100, 50).join();
+        assertTrue(empty.getEvents().isEmpty());
+        assertEquals(from + 1, empty.getNextSequence());
+    }
+
+    private ReservationDTO book(Guest guest, Schedule schedule) {
+        return reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(guest.getId())
+                .scheduleId(schedule.getId())
+                .build());
+    }
+
+    private Schedule saveSchedule(TennisCourt tennisCourt, LocalDateTime startDateTime) {
+        return scheduleRepository.save(Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(startDateTime)
+                .endDateTime(startDateTime.plusHours(1))
+                .build());
+    }
+
+    private long segmentFiles(Path directory) throws Exception {
+        try (var files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".journal")).count();
+        }
+    }
+
+    private static byte[] payload(int event) {
+        return ("event-" + event).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> texts(List<ReservationJournal.Entry> entries) {
+        return entries.stream().map(entry -> new String(entry.getPayload(), StandardCharsets.UTF_8)).toList();
+    }
+}
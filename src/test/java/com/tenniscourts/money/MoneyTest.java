@@ -0,0 +1,48 @@
+package com.tenniscourts.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MoneyTest {
+
+    @Test
+    public void arithmeticShouldWorkOnMinorUnits() {
+        var value = Money.of(10);
+
+        assertEquals(1_000L, value.getMinorUnits());
+        assertEquals(Money.ofMinorUnits(1_025L), value.plus(Money.ofMinorUnits(25L)));
+        assertSame(Money.ZERO, value.minus(value));
+        assertSame(value, value.minus(Money.ZERO));
+        assertSame(value, Money.ZERO.plus(value));
+        assertEquals(Money.ofMinorUnits(1_050L), Money.sum(List.of(value, Money.ofMinorUnits(50L))));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinorUnits(Long.MAX_VALUE).plus(Money.ofMinorUnits(1L)));
+        assertThrows(IllegalArgumentException.class, () -> value.plus(Money.ofMinorUnits(1L, Currency.getInstance("EUR"))));
+    }
+
+    @Test
+    public void toStringShouldPrintThePlainDecimalAmount() {
+        assertEquals("10.00", Money.of(10).toString());
+        assertEquals("0.05", Money.ofMinorUnits(5L).toString());
+        assertEquals("-1.50", Money.ofMinorUnits(-150L).toString());
+        assertEquals("250", Money.ofMinorUnits(250L, Currency.getInstance("JPY")).toString());
+        assertEquals(new BigDecimal("12.34"), Money.ofMinorUnits(1_234L).toBigDecimal());
+    }
+
+    @Test
+    public void jsonShouldRoundTripAsNumber() throws Exception {
+        var objectMapper = new ObjectMapper();
+
+        assertEquals("12.30", objectMapper.writeValueAsString(Money.ofMinorUnits(1_230L)));
+        assertEquals(Money.ofMinorUnits(1_230L), objectMapper.readValue("12.3", Money.class));
+        assertEquals(Money.of(10), objectMapper.readValue("\"10\"", Money.class));
+        assertThrows(Exception.class, () -> objectMapper.readValue("0.001", Money.class));
+    }
+}
@@ -0,0 +1,270 @@
+package com.tenniscourts.reservations;
+
+import com.tenniscourts.config.metrics.StatementCountInspector;
+import com.tenniscourts.exceptions.AlreadyExistsEntityException;
+import com.tenniscourts.exceptions.BatchConflictException;
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class ReservationServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    ReservationRepository reservationRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    GuestRepository guestRepository;
+
+    @Autowired
+    TennisCourtRepository tennisCourtRepository;
+
+    @Autowired
+    ScheduleBookingLocks scheduleBookingLocks;
+
+    private TennisCourt tennisCourt;
+
+    private List<Guest> guests;
+
+    @Before
+    public void setUp() {
+        tennisCourt = tennisCourtRepository.save(new TennisCourt("Stress court"));
+        guests = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            guests.add(guestRepository.save(Guest.builder().name("Guest " + i).build()));
+        }
+    }
+
+    @Test
+    public void concurrentBookingsOfSameScheduleShouldProduceSingleReservation() throws Exception {
+        var schedule = createSchedules(1).get(0);
+        var booked = new AtomicInteger();
+        var rejected = new AtomicInteger();
+
+        runConcurrently(THREADS, i -> {
+            try {
+                reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                        .guestId(guests.get(i).getId())
+                        .scheduleId(schedule.getId())
+                        .build());
+                booked.incrementAndGet();
+            } catch (AlreadyExistsEntityException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, booked.get());
+        assertEquals(THREADS - 1, rejected.get());
+        assertEquals(1, reservationRepository.findBySchedule_Id(schedule.getId()).size());
+    }
+
+    @Test
+    public void concurrentBookingsOfDifferentSchedulesShouldAllSucceed() throws Exception {
+        // Correctness only: the speed-up over a single thread is measured by the
+        // DistinctSlotBookingBenchmark JMH benchmark, where wall-clock numbers belong.
+        int bookingsPerThread = 8;
+        var schedules = createSchedules(THREADS * bookingsPerThread);
+
+        runConcurrently(THREADS, thread -> {
+            for (int i = 0; i < bookingsPerThread; i++) {
+                book(thread, schedules.get(thread * bookingsPerThread + i));
+            }
+        });
+
+        for (int i = 0; i < schedules.size(); i++) {
+            var reservations = reservationRepository.findBySchedule_Id(schedules.get(i).getId());
+            assertEquals(1, reservations.size());
+            assertEquals(guests.get(i / bookingsPerThread).getId(), reservations.get(0).getGuest().getId());
+        }
+    }
+
+    @Test
+    public void concurrentReschedulesToSameScheduleShouldProduceSingleReservation() throws Exception {
+        var target = createSchedules(1).get(0);
+        var sources = createSchedules(THREADS);
+        var reservationIds = new ArrayList<Long>();
+        for (int i = 0; i < THREADS; i++) {
+            reservationIds.add(reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                    .guestId(guests.get(i).getId())
+                    .scheduleId(sources.get(i).getId())
+                    .build()).getId());
+        }
+        var rescheduled = new AtomicInteger();
+        var rejected = new AtomicInteger();
+
+        runConcurrently(THREADS, i -> {
+            try {
+                reservationService.rescheduleReservation(reservationIds.get(i), target.getId());
+                rescheduled.incrementAndGet();
+            } catch (AlreadyExistsEntityException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, rescheduled.get());
+        assertEquals(THREADS - 1, rejected.get());
+        assertEquals(1, reservationRepository.findBySchedule_Id(target.getId()).size());
+        // A rejected reschedule rolls back completely: its reservation is still ready to play.
+        assertEquals(THREADS - 1, reservationIds.stream()
+                .map(id -> reservationRepository.findById(id).orElseThrow().getReservationStatus())
+                .filter(ReservationStatus.READY_TO_PLAY::equals)
+                .count());
+    }
+
+    @Test
+    public void rescheduleShouldUseABoundedNumberOfStatements() {
+        var schedules = createSchedules(2);
+        var reservation = reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(guests.get(0).getId())
+                .scheduleId(schedules.get(0).getId())
+                .build());
+
+        StatementCountInspector.reset();
+        reservationService.rescheduleReservation(reservation.getId(), schedules.get(1).getId());
+        int statements = StatementCountInspector.count();
+        StatementCountInspector.clear();
+
+        // Reservation, target schedule, conflict check, the reservation and outbox inserts and
+        // the update, plus a sequence call for each of the two ids whose pooled block runs out.
+        assertTrue(statements <= 8, "Reschedule used " + statements + " statements");
+    }
+
+    @Test
+    public void batchBookingShouldBeAllOrNothing() {
+        var schedules = createSchedules(20);
+        book(0, schedules.get(7));
+
+        assertThrows(BatchConflictException.class, () -> reservationService.bookReservationsBatch(CreateReservationBatchRequestDTO.builder()
+                .guestId(guests.get(1).getId())
+                .scheduleIds(schedules.stream().map(Schedule::getId).toList())
+                .build()));
+        for (int i = 0; i < schedules.size(); i++) {
+            assertEquals(i == 7 ? 1 : 0, reservationRepository.findBySchedule_Id(schedules.get(i).getId()).size());
+        }
+
+        var freeSchedules = new ArrayList<>(schedules);
+        freeSchedules.remove(7);
+        var result = reservationService.bookReservationsBatch(CreateReservationBatchRequestDTO.builder()
+                .guestId(guests.get(1).getId())
+                .scheduleIds(freeSchedules.stream().map(Schedule::getId).toList())
+                .build());
+        assertEquals(freeSchedules.size(), result.getBookedSlots());
+        for (Schedule schedule : freeSchedules) {
+            assertEquals(1, reservationRepository.findBySchedule_Id(schedule.getId()).size());
+        }
+    }
+
+    @Test
+    public void bookingLockShouldNotBlockSchedulesOnOtherStripes() throws Exception {
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> scheduleBookingLocks.withLock(1L, () -> {
+                holding.countDown();
+                await(release);
+                return null;
+            }));
+            holding.await();
+
+            assertNotSame(scheduleBookingLocks.stripeFor(1L), scheduleBookingLocks.stripeFor(2L));
+            assertTrue(scheduleBookingLocks.stripeFor(2L).tryLock());
+            scheduleBookingLocks.stripeFor(2L).unlock();
+            assertFalse(scheduleBookingLocks.stripeFor(1L).tryLock());
+
+            release.countDown();
+            holder.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void book(int guestIndex, Schedule schedule) {
+        reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(guests.get(guestIndex).getId())
+                .scheduleId(schedule.getId())
+                .build());
+    }
+
+    private List<Schedule> createSchedules(int count) {
+        var start = LocalDateTime.now().plusDays(1).withNano(0);
+        var schedules = new ArrayList<Schedule>();
+        for (int i = 0; i < count; i++) {
+            schedules.add(Schedule.builder()
+                    .tennisCourt(tennisCourt)
+                    .startDateTime(start.plusHours(i))
+                    .endDateTime(start.plusHours(i + 1))
+                    .build());
+        }
+        return scheduleRepository.saveAll(schedules);
+    }
+
+    private void runConcurrently(int threads, ThreadTask task) throws Exception {
+        var executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+        try {
+            var futures = new ArrayList<Future<Void>>();
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
@@ -1,11 +1,20 @@
 package com.tenniscourts.reservations;
 
+import com.tenniscourts.config.web.EntityVersions;
+import com.tenniscourts.exceptions.AlreadyExistsEntityException;
+import com.tenniscourts.exceptions.BatchConflict;
+import com.tenniscourts.exceptions.BatchConflictException;
 import com.tenniscourts.exceptions.EntityNotFoundException;
 import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestDTO;
 import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.guests.GuestService;
+import com.tenniscourts.journal.ReservationEventOutbox;
+import com.tenniscourts.money.Money;
 import com.tenniscourts.schedules.Schedule;
 import com.tenniscourts.schedules.ScheduleDTO;
 import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.schedules.ScheduleService;
 import org.junit.*;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
@@ -18,14 +27,23 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @FixMethodOrder(MethodSorters.NAME_ASCENDING)
@@ -38,12 +56,36 @@ public class ReservationServiceTest {
     @Mock
     ReservationRepository reservationRepository;
 
+    @Mock
+    ReservationHistoryRepository reservationHistoryRepository;
+
     @Mock
     ScheduleRepository scheduleRepository;
 
     @Mock
     GuestRepository guestRepository;
 
+    @Mock
+    GuestService guestService;
+
+    @Mock
+    ScheduleService scheduleService;
+
+    @Mock
+    ReservationMetrics reservationMetrics;
+
+    @Mock
+    ReservationEventOutbox reservationEventOutbox;
+
+    @Spy
+    EntityVersions entityVersions = new EntityVersions();
+
+    @Spy
+    ScheduleBookingLocks scheduleBookingLocks = new ScheduleBookingLocks(16);
+
+    @Spy
+    TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     ReservationService reservationService;
 
@@ -66,7 +108,7 @@ public class ReservationServiceTest {
 
         schedule.setStartDateTime(startDateTime);
 
-        Assert.assertEquals(reservationService.getRefundValue(Reservation.builder().schedule(schedule).value(new BigDecimal(10L)).build()), new BigDecimal(10));
+        Assert.assertEquals(reservationService.getRefundValue(Reservation.builder().schedule(schedule).value(Money.of(10)).build()), Money.of(10));
     }
 
     @Test
@@ -87,6 +129,7 @@ public class ReservationServiceTest {
                 .scheduleId(validScheduleId)
                 .build();
         when(scheduleRepository.findById(validScheduleId)).thenReturn(this.createValidSchedule());
+        when(guestService.findGuestById(12L)).thenThrow(new EntityNotFoundException("Guest not found."));
         exceptionRule.expect(EntityNotFoundException.class);
         exceptionRule.expectMessage("Guest not found.");
         reservationService.bookReservation(createReservationRequestDTO);
@@ -99,7 +142,7 @@ public class ReservationServiceTest {
                 .scheduleId(validScheduleId)
                 .build();
         when(scheduleRepository.findById(validScheduleId)).thenReturn(this.createValidSchedule());
-        when(guestRepository.findById(validGuestId)).thenReturn(this.createValidGuest());
+        when(guestService.findGuestById(validGuestId)).thenReturn(GuestDTO.builder().id(validGuestId).build());
         Reservation reservationMock = this.createValidReservation().get();
         when(reservationRepository.save(any())).thenReturn(reservationMock);
         var reservationDTO = new ReservationDTO();
@@ -110,9 +153,43 @@ public class ReservationServiceTest {
         assertEquals(reservationMock.getId(), response.getId());
     }
 
+    @Test
+    public void bookReservationShouldThrowErrorIfScheduleAlreadyBooked() {
+        CreateReservationRequestDTO createReservationRequestDTO = CreateReservationRequestDTO.builder()
+                .guestId(validGuestId)
+                .scheduleId(validScheduleId)
+                .build();
+        when(scheduleRepository.findById(validScheduleId)).thenReturn(this.createValidSchedule());
+        when(guestService.findGuestById(validGuestId)).thenReturn(GuestDTO.builder().id(validGuestId).build());
+        when(reservationRepository.existsBySchedule_IdAndReservationStatus(validScheduleId, ReservationStatus.READY_TO_PLAY)).thenReturn(true);
+        exceptionRule.expect(AlreadyExistsEntityException.class);
+        exceptionRule.expectMessage("Schedule already booked.");
+        reservationService.bookReservation(createReservationRequestDTO);
+    }
+
+    @Test
+    public void bookReservationsBatchShouldReportEveryConflictingSchedule() {
+        var createReservationBatchRequestDTO = CreateReservationBatchRequestDTO.builder()
+                .guestId(validGuestId)
+                .scheduleIds(List.of(validScheduleId, secondValidScheduleId, validScheduleId))
+                .build();
+        when(guestRepository.findById(validGuestId)).thenReturn(this.createValidGuest());
+        when(scheduleRepository.findWithTennisCourtByIdIn(createReservationBatchRequestDTO.getScheduleIds())).thenReturn(List.of(this.createValidSchedule().get()));
+        when(reservationRepository.findScheduleIdsBySchedule_IdInAndReservationStatus(anyCollection(), any())).thenReturn(List.of(validScheduleId));
+
+        var exception = assertThrows(BatchConflictException.class,
+                () -> reservationService.bookReservationsBatch(createReservationBatchRequestDTO));
+
+        assertEquals(List.of(
+                new BatchConflict(validScheduleId, "Schedule already booked."),
+                new BatchConflict(secondValidScheduleId, "Schedule not found."),
+                new BatchConflict(validScheduleId, "Schedule requested more than once.")), exception.getConflicts());
+        verify(reservationRepository, never()).saveAll(anyList());
+    }
+
     @Test
     public void rescheduleReservationShouldThrowErrorIfWrongScheduleId() {
-        when(reservationRepository.findById(validReservationId)).thenReturn(this.createValidReservation());
+        when(reservationRepository.findWithGuestAndScheduleById(validReservationId)).thenReturn(this.createValidReservation());
         exceptionRule.expect(EntityNotFoundException.class);
         exceptionRule.expectMessage("Schedule not found.");
         reservationService.rescheduleReservation(validReservationId, 1L);
@@ -127,40 +204,52 @@ public class ReservationServiceTest {
 
     @Test
     public void rescheduleReservationShouldThrowErrorIfSameScheduleId() {
-        when(reservationRepository.findById(validReservationId)).thenReturn(this.createValidReservation());
-        when(scheduleRepository.findById(validScheduleId)).thenReturn(this.createValidSchedule());
+        when(reservationRepository.findWithGuestAndScheduleById(validReservationId)).thenReturn(this.createValidReservation());
+        when(scheduleRepository.findWithTennisCourtById(validScheduleId)).thenReturn(this.createValidSchedule());
         exceptionRule.expect(IllegalArgumentException.class);
         exceptionRule.expectMessage("Cannot reschedule to the same slot.");
         reservationService.rescheduleReservation(validReservationId, validScheduleId);
     }
 
     @Test
-    public void rescheduleReservationShouldReturnRescheduleReservation() {
-        when(reservationRepository.findById(validReservationId)).thenReturn(this.createValidReservation());
-        when(scheduleRepository.findById(secondValidScheduleId)).thenReturn(this.createValidSchedule());
-        when(guestRepository.findById(validGuestId)).thenReturn(this.createValidGuest());
-
-        Reservation newReservation = this.createValidReservation().get();
-        var reservationMock = newReservation;
-        reservationMock.setValue(BigDecimal.ZERO);
-        reservationMock.setRefundValue(ReservationConstants.DEFAULT_VALUE);
-        var previousReservation = reservationMock;
-        previousReservation.setReservationStatus(ReservationStatus.RESCHEDULED);
-        newReservation.setId(validReservationId + 1);
+    public void rescheduleReservationShouldThrowErrorIfTargetScheduleAlreadyBooked() {
+        when(reservationRepository.findWithGuestAndScheduleById(validReservationId)).thenReturn(this.createValidReservation());
+        when(scheduleRepository.findWithTennisCourtById(secondValidScheduleId)).thenReturn(this.createValidSchedule(secondValidScheduleId));
+        when(reservationRepository.existsBySchedule_IdAndReservationStatus(secondValidScheduleId, ReservationStatus.READY_TO_PLAY)).thenReturn(true);
+        exceptionRule.expect(AlreadyExistsEntityException.class);
+        exceptionRule.expectMessage("Schedule already booked.");
+        reservationService.rescheduleReservation(validReservationId, secondValidScheduleId);
+    }
 
+    @Test
+    public void rescheduleReservationShouldReturnRescheduleReservation() {
+        when(reservationRepository.findWithGuestAndScheduleById(validReservationId)).thenReturn(this.createValidReservation());
+        when(scheduleRepository.findWithTennisCourtById(secondValidScheduleId)).thenReturn(this.createValidSchedule(secondValidScheduleId));
+        when(reservationRepository.save(any())).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            reservation.setId(validReservationId + 1);
+            return reservation;
+        });
 
-        when(reservationRepository.save(any())).thenReturn(reservationMock).thenReturn(previousReservation).thenReturn(this.createValidReservation().get());
         var response = reservationService.rescheduleReservation(validReservationId, secondValidScheduleId);
 
-        assertTrue(response instanceof ReservationDTO);
-        assertEquals(validReservationId + 1, response.getPreviousReservation().getId());
+        assertEquals(validReservationId + 1, response.getId());
+        assertEquals(secondValidScheduleId, response.getSchedule().getId());
+        assertEquals(validReservationId, response.getPreviousReservation().getId());
+        assertEquals(ReservationStatus.RESCHEDULED.name(), response.getPreviousReservation().getReservationStatus());
+        assertEquals(ReservationConstants.DEFAULT_VALUE, response.getPreviousReservation().getRefundValue());
+        verify(reservationRepository, times(1)).save(any());
     }
 
 
     private Optional<Schedule> createValidSchedule() {
+        return this.createValidSchedule(validScheduleId);
+    }
+
+    private Optional<Schedule> createValidSchedule(Long scheduleId) {
         var schedule = new Schedule();
-        schedule.setId(validScheduleId);
-        schedule.setStartDateTime(LocalDateTime.of(2021, 9, 5, 10, 0, 0));
+        schedule.setId(scheduleId);
+        schedule.setStartDateTime(LocalDateTime.now().plusDays(2));
         return Optional.of(schedule);
     }
 
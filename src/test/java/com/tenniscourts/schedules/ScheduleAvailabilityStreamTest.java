@@ -0,0 +1,85 @@
+package com.tenniscourts.schedules;
+
+import com.tenniscourts.tenniscourts.TennisCourtDTO;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScheduleAvailabilityStreamTest {
+
+    private static final Long TENNIS_COURT_ID = 1L;
+
+    @Mock
+    ScheduleService scheduleService;
+
+    private final List<String> sentEvents = new ArrayList<>();
+
+    @Test
+    public void subscriberShouldReceiveSnapshotBeforeChanges() {
+        when(scheduleService.findFreeSchedulesByTennisCourtId(TENNIS_COURT_ID)).thenReturn(List.of(this.createSchedule(10L)));
+        var stream = this.createStream(Runnable::run, 10);
+
+        stream.subscribe(TENNIS_COURT_ID);
+        stream.onAvailabilityChanged(ScheduleAvailabilityEvent.of(ScheduleAvailabilityEvent.Type.BOOKED, this.createSchedule(10L)));
+        stream.onAvailabilityChanged(ScheduleAvailabilityEvent.of(ScheduleAvailabilityEvent.Type.ADDED, this.createSchedule(11L)));
+
+        assertEquals(3, sentEvents.size());
+        assertTrue(sentEvents.get(0).startsWith("event:snapshot\n"));
+        assertTrue(sentEvents.get(1).startsWith("event:booked\n"));
+        assertTrue(sentEvents.get(2).startsWith("event:added\n"));
+    }
+
+    @Test
+    public void subscriberFallingBehindShouldBeClosed() {
+        when(scheduleService.findFreeSchedulesByTennisCourtId(TENNIS_COURT_ID)).thenReturn(List.of());
+        var stalledTasks = new ArrayList<Runnable>();
+        var stream = this.createStream(stalledTasks::add, 2);
+
+        stream.subscribe(TENNIS_COURT_ID);
+        assertEquals(1, stream.getSubscriberCount());
+
+        stream.onAvailabilityChanged(ScheduleAvailabilityEvent.of(ScheduleAvailabilityEvent.Type.FREED, this.createSchedule(10L)));
+        stream.onAvailabilityChanged(ScheduleAvailabilityEvent.of(ScheduleAvailabilityEvent.Type.FREED, this.createSchedule(11L)));
+
+        assertEquals(0, stream.getSubscriberCount());
+        assertTrue(sentEvents.isEmpty());
+    }
+
+    private ScheduleAvailabilityStream createStream(Executor executor, int maxPendingEvents) {
+        return new ScheduleAvailabilityStream(scheduleService, executor, 60_000, maxPendingEvents) {
+            @Override
+            SseEmitter createEmitter() {
+                return new SseEmitter() {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        var event = new StringBuilder();
+                        builder.build().forEach(part -> event.append(part.getData() instanceof String ? part.getData() : "<data>"));
+                        sentEvents.add(event.toString());
+                    }
+                };
+            }
+        };
+    }
+
+    private ScheduleDTO createSchedule(Long scheduleId) {
+        var tennisCourt = new TennisCourtDTO();
+        tennisCourt.setId(TENNIS_COURT_ID);
+        var schedule = new ScheduleDTO();
+        schedule.setId(scheduleId);
+        schedule.setTennisCourt(tennisCourt);
+        schedule.setStartDateTime(LocalDateTime.now().plusDays(1));
+        return schedule;
+    }
+}
@@ -1,4 +1,79 @@
 package com.tenniscourts.schedules;
 
+import com.tenniscourts.audit.AuditTrailWriter;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import(AuditTrailWriter.class)
 public class ScheduleRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 5, 1, 8, 0);
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    TennisCourtRepository tennisCourtRepository;
+
+    private List<Schedule> schedules;
+
+    @Before
+    public void setUp() {
+        var firstCourt = tennisCourtRepository.save(new TennisCourt("First court"));
+        var secondCourt = tennisCourtRepository.save(new TennisCourt("Second court"));
+        schedules = scheduleRepository.saveAll(List.of(
+                this.createSchedule(firstCourt, START),
+                this.createSchedule(secondCourt, START),
+                this.createSchedule(firstCourt, START.plusHours(1)),
+                this.createSchedule(secondCourt, START.plusHours(1)),
+                this.createSchedule(firstCourt, START.plusDays(40))));
+    }
+
+    @Test
+    public void streamByStartDateTimeBetweenAfterCursorShouldPageByStartDateTimeAndId() {
+        var end = START.plusDays(30);
+
+        var firstPage = this.findPage(end, START, Long.MIN_VALUE, 3);
+        assertEquals(List.of(schedules.get(0).getId(), schedules.get(1).getId(), schedules.get(2).getId()), firstPage);
+
+        var last = schedules.get(1);
+        var secondPage = this.findPage(end, last.getStartDateTime(), last.getId(), 3);
+        assertEquals(List.of(schedules.get(2).getId(), schedules.get(3).getId()), secondPage);
+    }
+
+    @Test
+    public void streamByStartDateTimeBetweenAfterCursorShouldExcludeTheEnd() {
+        assertEquals(4, this.findPage(START.plusDays(40), START, Long.MIN_VALUE, 10).size());
+        assertEquals(5, this.findPage(START.plusDays(40).plusSeconds(1), START, Long.MIN_VALUE, 10).size());
+    }
+
+    private List<Long> findPage(LocalDateTime end, LocalDateTime cursorStartDateTime, Long cursorId, int size) {
+        try (var stream = scheduleRepository.streamByStartDateTimeBetweenAfterCursor(START, end, cursorStartDateTime, cursorId, PageRequest.of(0, size))) {
+            return stream.map(Schedule::getId).collect(Collectors.toList());
+        }
+    }
+
+    private Schedule createSchedule(TennisCourt tennisCourt, LocalDateTime startDateTime) {
+        return Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(startDateTime)
+                .endDateTime(startDateTime.plusHours(1))
+                .build();
+    }
 }
@@ -1,7 +1,9 @@
 package com.tenniscourts.schedules;
 
+import com.tenniscourts.config.web.EntityVersions;
 import com.tenniscourts.reservations.ReservationService;
 import com.tenniscourts.schedules.*;
+import com.tenniscourts.tenniscourts.TennisCourt;
 import com.tenniscourts.tenniscourts.TennisCourtDTO;
 import com.tenniscourts.tenniscourts.TennisCourtService;
 import org.junit.Assert;
@@ -15,15 +17,29 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,6 +59,21 @@ public class ScheduleServiceTest {
     @Spy
     ScheduleMapper scheduleMapper = Mappers.getMapper(ScheduleMapper.class);
 
+    @Spy
+    ScheduleOccupancyIndex occupancyIndex = new ScheduleOccupancyIndex();
+
+    @Mock
+    ScheduleHistoryRepository scheduleHistoryRepository;
+
+    @Mock
+    ScheduleBatchWriter scheduleBatchWriter;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    EntityVersions entityVersions = new EntityVersions();
+
 
     @InjectMocks
     ScheduleService scheduleService;
@@ -57,6 +88,87 @@ public class ScheduleServiceTest {
         verify(scheduleRepository).findByTennisCourt_IdAndWithoutReservationOrderByStartDateTime(validTennisCourtId);
     }
 
+    @Test
+    public void findFreeSchedulesByTennisCourtIdShouldAnswerLoadedCourtFromMemory() {
+        when(scheduleRepository.findByTennisCourt_IdAndWithoutReservationOrderByStartDateTime(validTennisCourtId)).thenReturn(List.of(this.createValidSchedule().get()));
+        scheduleService.findFreeSchedulesByTennisCourtId(validTennisCourtId);
+        var response = scheduleService.findFreeSchedulesByTennisCourtId(validTennisCourtId);
+        assertEquals(1, response.size());
+        verify(scheduleRepository, times(1)).findByTennisCourt_IdAndWithoutReservationOrderByStartDateTime(validTennisCourtId);
+    }
+
+    @Test
+    public void markScheduleBookedAndFreeShouldUpdateFreeSchedules() {
+        var schedule = this.createValidSchedule().get();
+        when(scheduleRepository.findByTennisCourt_IdAndWithoutReservationOrderByStartDateTime(validTennisCourtId)).thenReturn(List.of(schedule));
+        scheduleService.findFreeSchedulesByTennisCourtId(validTennisCourtId);
+
+        scheduleService.markScheduleBooked(schedule);
+        assertTrue(scheduleService.findFreeSchedulesByTennisCourtId(validTennisCourtId).isEmpty());
+
+        scheduleService.markScheduleFree(schedule);
+        assertEquals(validScheduleId, scheduleService.findFreeSchedulesByTennisCourtId(validTennisCourtId).get(0).getId());
+    }
+
+    @Test
+    public void markScheduleBookedShouldOnlyReachTheIndexOnceCommitted() {
+        var schedule = this.createValidSchedule().get();
+        when(scheduleRepository.findByTennisCourt_IdAndWithoutReservationOrderByStartDateTime(validTennisCourtId)).thenReturn(List.of(schedule));
+        scheduleService.findFreeSchedulesByTennisCourtId(validTennisCourtId);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduleService.markScheduleBooked(schedule);
+            assertEquals(1, scheduleService.findFreeSchedulesByTennisCourtId(validTennisCourtId).size());
+        } finally {
+            // Rolled back: the synchronizations are dropped without a commit.
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, scheduleService.findFreeSchedulesByTennisCourtId(validTennisCourtId).size());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduleService.markScheduleBooked(schedule);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(scheduleService.findFreeSchedulesByTennisCourtId(validTennisCourtId).isEmpty());
+    }
+
+    @Test
+    public void loadShouldNotInstallASnapshotTakenBeforeAConcurrentBooking() {
+        var schedule = this.createValidSchedule().get();
+        when(scheduleRepository.findByTennisCourt_IdAndWithoutReservationOrderByStartDateTime(validTennisCourtId))
+                .thenAnswer(invocation -> {
+                    // A booking commits while the free slots are being read.
+                    occupancyIndex.markBooked(scheduleMapper.map(schedule));
+                    return List.of(schedule);
+                })
+                .thenReturn(List.of());
+
+        assertEquals(1, scheduleService.findFreeSchedulesByTennisCourtId(validTennisCourtId).size());
+        assertTrue(occupancyIndex.loadedTennisCourtIds().isEmpty());
+
+        assertTrue(scheduleService.findFreeSchedulesByTennisCourtId(validTennisCourtId).isEmpty());
+        assertEquals(List.of(), occupancyIndex.findFreeSchedules(validTennisCourtId, LocalDateTime.now()).orElseThrow());
+    }
+
+    @Test
+    public void checkOccupancyIndexConsistencyShouldReportAndEvictDriftedCourt() {
+        var schedule = this.createValidSchedule().get();
+        when(scheduleRepository.findByTennisCourt_IdAndWithoutReservationOrderByStartDateTime(validTennisCourtId)).thenReturn(List.of(schedule));
+        scheduleService.findFreeSchedulesByTennisCourtId(validTennisCourtId);
+        assertTrue(scheduleService.checkOccupancyIndexConsistency().isConsistent());
+
+        occupancyIndex.markBooked(scheduleMapper.map(schedule));
+        var report = scheduleService.checkOccupancyIndexConsistency();
+
+        assertFalse(report.isConsistent());
+        assertEquals(List.of(validTennisCourtId), report.getInconsistentTennisCourtIds());
+        assertTrue(occupancyIndex.loadedTennisCourtIds().isEmpty());
+    }
+
     @Test
     public void addScheduleTennisCourtShouldReturnValidSchedule() {
         var createScheduleDto = new CreateScheduleRequestDTO();
@@ -68,9 +180,86 @@ public class ScheduleServiceTest {
         assertEquals(validScheduleId, response.getId());
     }
 
+    @Test
+    public void addSchedulesBatchShouldGenerateSlotsWithinOpeningHours() {
+        var request = CreateScheduleBatchRequestDTO.builder()
+                .tennisCourtId(validTennisCourtId)
+                .startDate(LocalDate.of(2030, 1, 1))
+                .endDate(LocalDate.of(2030, 1, 2))
+                .openingTime(LocalTime.of(8, 0))
+                .closingTime(LocalTime.of(12, 30))
+                .slotDurationMinutes(60)
+                .build();
+        when(tennisCourtService.findTennisCourtById(validTennisCourtId)).thenReturn(this.createValidTennisCourt());
+        when(scheduleBatchWriter.insertSchedules(eq(validTennisCourtId), anyList(), eq(Duration.ofHours(1)))).thenAnswer(invocation -> ((List<?>) invocation.getArgument(1)).size());
+
+        var response = scheduleService.addSchedulesBatch(request);
+
+        assertEquals(8, response.getCreatedSlots());
+        verify(scheduleBatchWriter).insertSchedules(validTennisCourtId, List.of(
+                LocalDateTime.of(2030, 1, 1, 8, 0), LocalDateTime.of(2030, 1, 1, 9, 0),
+                LocalDateTime.of(2030, 1, 1, 10, 0), LocalDateTime.of(2030, 1, 1, 11, 0),
+                LocalDateTime.of(2030, 1, 2, 8, 0), LocalDateTime.of(2030, 1, 2, 9, 0),
+                LocalDateTime.of(2030, 1, 2, 10, 0), LocalDateTime.of(2030, 1, 2, 11, 0)), Duration.ofHours(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addSchedulesBatchShouldRejectClosingBeforeOpening() {
+        var request = CreateScheduleBatchRequestDTO.builder()
+                .tennisCourtId(validTennisCourtId)
+                .startDate(LocalDate.of(2030, 1, 1))
+                .endDate(LocalDate.of(2030, 1, 2))
+                .openingTime(LocalTime.of(12, 0))
+                .closingTime(LocalTime.of(8, 0))
+                .build();
+        when(tennisCourtService.findTennisCourtById(validTennisCourtId)).thenReturn(this.createValidTennisCourt());
+        scheduleService.addSchedulesBatch(request);
+    }
+
+    @Test
+    public void findSchedulesByDatesShouldReturnCursorOfLastScheduleWhenMoreRowsExist() {
+        var from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        var to = LocalDateTime.of(2030, 1, 31, 23, 59);
+        var first = this.createValidSchedule().get();
+        var second = this.createValidSchedule().get();
+        second.setId(validScheduleId + 1);
+        when(scheduleRepository.streamByStartDateTimeBetweenAfterCursor(from, to, from, Long.MIN_VALUE, PageRequest.of(0, 2)))
+                .thenReturn(Stream.of(first, second));
+
+        var page = scheduleService.findSchedulesByDates(from, to, null, 1);
+
+        assertEquals(1, page.getSchedules().size());
+        var cursor = ScheduleCursor.decode(page.getNextCursor());
+        assertEquals(first.getStartDateTime(), cursor.getStartDateTime());
+        assertEquals(validScheduleId, cursor.getId());
+    }
+
+    @Test
+    public void findSchedulesByDatesShouldNotReturnCursorOnLastPage() {
+        var from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        var to = LocalDateTime.of(2030, 1, 31, 23, 59);
+        var cursor = new ScheduleCursor(LocalDateTime.of(2030, 1, 2, 10, 0), 7L);
+        when(scheduleRepository.streamByStartDateTimeBetweenAfterCursor(from, to, cursor.getStartDateTime(), 7L, PageRequest.of(0, 11)))
+                .thenReturn(Stream.of(this.createValidSchedule().get()));
+
+        var page = scheduleService.findSchedulesByDates(from, to, cursor.encode(), 10);
+
+        assertEquals(1, page.getSchedules().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void findSchedulesByDatesShouldRejectInvalidCursor() {
+        scheduleService.findSchedulesByDates(LocalDateTime.of(2030, 1, 1, 0, 0), LocalDateTime.of(2030, 1, 31, 23, 59), "not-a-cursor", 10);
+    }
+
     private Optional<Schedule> createValidSchedule() {
+        var tennisCourt = new TennisCourt();
+        tennisCourt.setId(validTennisCourtId);
         var schedule = new Schedule();
         schedule.setId(validScheduleId);
+        schedule.setTennisCourt(tennisCourt);
+        schedule.setStartDateTime(LocalDateTime.now().plusDays(1));
         return Optional.of(schedule);
     }
 
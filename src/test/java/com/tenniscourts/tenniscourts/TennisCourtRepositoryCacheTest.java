@@ -0,0 +1,104 @@
+package com.tenniscourts.tenniscourts;
+
+import com.tenniscourts.config.cache.CacheConfig;
+import com.tenniscourts.exceptions.EntityNotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class TennisCourtRepositoryCacheTest {
+
+    @Autowired
+    TennisCourtRepository tennisCourtRepository;
+
+    @Autowired
+    TennisCourtService tennisCourtService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Before
+    public void setUp() {
+        cacheManager.getCache(CacheConfig.TENNIS_COURTS).clear();
+    }
+
+    @Test
+    public void findTennisCourtByIdShouldBeServedFromCacheAfterFirstLookup() {
+        var tennisCourt = tennisCourtService.addTennisCourt(TennisCourtDTO.builder().name("Cached court").build());
+
+        tennisCourtService.findTennisCourtById(tennisCourt.getId());
+
+        assertNotNull(cacheManager.getCache(CacheConfig.TENNIS_COURTS).get(tennisCourt.getId()));
+        assertEquals("Cached court", tennisCourtService.findTennisCourtById(tennisCourt.getId()).getName());
+    }
+
+    @Test
+    public void saveShouldEvictCachedTennisCourt() {
+        var tennisCourt = tennisCourtRepository.save(new TennisCourt("Court before rename"));
+        tennisCourtService.findTennisCourtById(tennisCourt.getId());
+
+        tennisCourt.setName("Court after rename");
+        tennisCourtRepository.save(tennisCourt);
+
+        assertNull(cacheManager.getCache(CacheConfig.TENNIS_COURTS).get(tennisCourt.getId()));
+        assertEquals("Court after rename", tennisCourtService.findTennisCourtById(tennisCourt.getId()).getName());
+    }
+
+    @Test
+    public void readBeforeTheRenameCommitsShouldNotOutliveIt() {
+        var tennisCourt = tennisCourtRepository.save(new TennisCourt("Court before rename"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            tennisCourt.setName("Court after rename");
+            tennisCourtRepository.saveAndFlush(tennisCourt);
+            // Another request still sees the committed name and caches it.
+            CompletableFuture.runAsync(() -> tennisCourtService.findTennisCourtById(tennisCourt.getId())).join();
+        });
+
+        assertEquals("Court after rename", tennisCourtService.findTennisCourtById(tennisCourt.getId()).getName());
+    }
+
+    @Test
+    public void missingTennisCourtShouldNotBeCached() {
+        assertThrows(EntityNotFoundException.class, () -> tennisCourtService.findTennisCourtById(Long.MAX_VALUE));
+
+        assertNull(cacheManager.getCache(CacheConfig.TENNIS_COURTS).get(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void changesToAReturnedTennisCourtShouldNotReachTheCache() {
+        var tennisCourt = tennisCourtService.addTennisCourt(TennisCourtDTO.builder().name("Shared court").build());
+
+        var first = tennisCourtService.findTennisCourtById(tennisCourt.getId());
+        first.setName("Changed by a caller");
+        first.setTennisCourtSchedules(List.of());
+
+        var second = tennisCourtService.findTennisCourtById(tennisCourt.getId());
+        assertNotSame(first, second);
+        assertEquals("Shared court", second.getName());
+        assertNull(second.getTennisCourtSchedules());
+        assertFalse(cacheManager.getCache(CacheConfig.TENNIS_COURTS).get(tennisCourt.getId()).get() instanceof TennisCourt);
+    }
+}
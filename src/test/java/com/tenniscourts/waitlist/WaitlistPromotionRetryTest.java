@@ -0,0 +1,122 @@
+package com.tenniscourts.waitlist;
+
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.reservations.ReservationDTO;
+import com.tenniscourts.reservations.ReservationRepository;
+import com.tenniscourts.reservations.ReservationService;
+import com.tenniscourts.reservations.ReservationStatus;
+import com.tenniscourts.reservations.ScheduleBookingLocks;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WaitlistPromotionRetryTest {
+
+    @Mock
+    WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    WaitlistMapper waitlistMapper;
+
+    @Mock
+    ScheduleRepository scheduleRepository;
+
+    @Mock
+    GuestRepository guestRepository;
+
+    @Mock
+    ReservationRepository reservationRepository;
+
+    @Mock
+    ReservationService reservationService;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    public void entryShouldKeepItsPlaceWhenThePromotionFailsOnTheDatabase() {
+        var entry = this.waitingEntry(LocalDateTime.now().plusDays(1));
+        var reservation = new ReservationDTO();
+        reservation.setId(7L);
+        when(reservationService.bookReservation(any()))
+                .thenThrow(new DataAccessResourceFailureException("Connection lost"))
+                .thenReturn(reservation);
+
+        this.waitlistService(entry).rebuildQueues();
+
+        verify(reservationService, timeout(5000).times(2)).bookReservation(any());
+        verify(waitlistEntryRepository, timeout(5000).times(2)).findById(entry.getId());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (entry.getReservationId() == null && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(WaitlistStatus.PROMOTED, entry.getStatus());
+        assertEquals(7L, entry.getReservationId());
+    }
+
+    @Test
+    public void entryShouldNotBePromotedIntoAScheduleThatAlreadyStarted() {
+        var entry = this.waitingEntry(LocalDateTime.now().minusMinutes(5));
+
+        this.waitlistService(entry).rebuildQueues();
+
+        verify(reservationService, never()).bookReservation(any());
+        assertEquals(WaitlistStatus.WAITING, entry.getStatus());
+    }
+
+    @Test
+    public void queueShouldBeDroppedOnceItsScheduleStarted() {
+        var start = LocalDateTime.now().plusDays(1);
+        var waitlistService = this.waitlistService(this.waitingEntry(start));
+        when(reservationRepository.existsBySchedule_IdAndReservationStatus(anyLong(), any(ReservationStatus.class))).thenReturn(true);
+
+        waitlistService.rebuildQueues();
+        waitlistService.dropFinishedQueues(start.minusMinutes(1));
+        assertEquals(1, waitlistService.waitingQueueCount());
+
+        waitlistService.dropFinishedQueues(start.plusMinutes(1));
+        assertEquals(0, waitlistService.waitingQueueCount());
+        verify(reservationService, never()).bookReservation(any());
+    }
+
+    private WaitlistService waitlistService(WaitlistEntry entry) {
+        when(waitlistEntryRepository.findByStatusOrderById(WaitlistStatus.WAITING)).thenReturn(List.of(entry));
+        when(waitlistEntryRepository.findById(entry.getId())).thenReturn(Optional.of(entry));
+        lenient().when(reservationRepository.existsBySchedule_IdAndReservationStatus(anyLong(), any(ReservationStatus.class))).thenReturn(false);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        return new WaitlistService(waitlistEntryRepository, waitlistMapper, scheduleRepository, guestRepository,
+                reservationRepository, reservationService, new ScheduleBookingLocks(16), transactionTemplate, Runnable::run, 10);
+    }
+
+    private WaitlistEntry waitingEntry(LocalDateTime startDateTime) {
+        var schedule = Schedule.builder().startDateTime(startDateTime).endDateTime(startDateTime.plusHours(1)).build();
+        schedule.setId(3L);
+        var guest = Guest.builder().name("Waiting guest").build();
+        guest.setId(5L);
+        var entry = WaitlistEntry.builder().schedule(schedule).guest(guest).status(WaitlistStatus.WAITING).build();
+        entry.setId(11L);
+        return entry;
+    }
+}
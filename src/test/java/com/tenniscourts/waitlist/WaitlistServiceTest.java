@@ -0,0 +1,188 @@
+package com.tenniscourts.waitlist;
+
+import com.tenniscourts.exceptions.AlreadyExistsEntityException;
+import com.tenniscourts.exceptions.BusinessException;
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.reservations.ReservationDTO;
+import com.tenniscourts.reservations.ReservationRepository;
+import com.tenniscourts.reservations.ReservationService;
+import com.tenniscourts.reservations.ReservationStatus;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class WaitlistServiceTest {
+
+    private static final int GUESTS = 8;
+
+    private static final AtomicInteger FIXTURES = new AtomicInteger();
+
+    @Autowired
+    WaitlistService waitlistService;
+
+    @Autowired
+    WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    ReservationRepository reservationRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    GuestRepository guestRepository;
+
+    @Autowired
+    TennisCourtRepository tennisCourtRepository;
+
+    private final List<Guest> guests = new ArrayList<>();
+
+    private Schedule schedule;
+
+    @Before
+    public void setUp() {
+        var tennisCourt = tennisCourtRepository.save(new TennisCourt("Waitlist court"));
+        var start = LocalDateTime.now().plusYears(5).plusDays(FIXTURES.incrementAndGet()).withNano(0);
+        schedule = scheduleRepository.save(Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(start)
+                .endDateTime(start.plusHours(1))
+                .build());
+        for (int i = 0; i < GUESTS; i++) {
+            guests.add(guestRepository.save(Guest.builder().name("Waiting guest " + i).build()));
+        }
+    }
+
+    @Test
+    public void freedScheduleShouldBeGivenToWaitersInJoinOrder() throws Exception {
+        assertThrows(BusinessException.class, () -> this.join(1));
+        var reservation = this.book(0);
+
+        var first = this.join(1);
+        var second = this.join(2);
+        assertThrows(AlreadyExistsEntityException.class, () -> this.join(1));
+        assertEquals(1, first.getPosition());
+        assertEquals(2, second.getPosition());
+
+        reservationService.cancelReservation(reservation.getId());
+        this.awaitStatus(first.getId(), WaitlistStatus.PROMOTED);
+        var promoted = waitlistEntryRepository.findById(first.getId()).orElseThrow();
+        assertEquals(WaitlistStatus.WAITING, waitlistEntryRepository.findById(second.getId()).orElseThrow().getStatus());
+
+        var otherSchedule = scheduleRepository.save(Schedule.builder()
+                .tennisCourt(schedule.getTennisCourt())
+                .startDateTime(schedule.getStartDateTime().plusHours(1))
+                .endDateTime(schedule.getEndDateTime().plusHours(1))
+                .build());
+        reservationService.rescheduleReservation(promoted.getReservationId(), otherSchedule.getId());
+        this.awaitStatus(second.getId(), WaitlistStatus.PROMOTED);
+
+        var readyToPlay = reservationRepository.findBySchedule_Id(schedule.getId()).stream()
+                .filter(r -> r.getReservationStatus() == ReservationStatus.READY_TO_PLAY)
+                .toList();
+        assertEquals(1, readyToPlay.size());
+        assertEquals(waitlistEntryRepository.findById(second.getId()).orElseThrow().getReservationId(), readyToPlay.get(0).getId());
+    }
+
+    @Test
+    public void freedScheduleShouldNeverBeGivenTwiceWhenWaitersAndBookingsRace() throws Exception {
+        var reservation = this.book(0);
+        var executor = Executors.newFixedThreadPool(GUESTS);
+        var start = new CountDownLatch(1);
+        try {
+            var joins = new ArrayList<Future<?>>();
+            for (int i = 1; i < GUESTS - 1; i++) {
+                int guest = i;
+                joins.add(executor.submit(() -> {
+                    start.await();
+                    return this.join(guest);
+                }));
+            }
+            start.countDown();
+            for (Future<?> join : joins) {
+                join.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        reservationService.cancelReservation(reservation.getId());
+        boolean bookedDirectly;
+        try {
+            this.book(GUESTS - 1);
+            bookedDirectly = true;
+        } catch (AlreadyExistsEntityException e) {
+            bookedDirectly = false;
+        }
+
+        if (bookedDirectly) {
+            // The promotion found the schedule booked and left every waiter queued.
+            Thread.sleep(200);
+        } else {
+            this.await(() -> this.countPromoted() == 1);
+        }
+        var readyToPlay = reservationRepository.findBySchedule_Id(schedule.getId()).stream()
+                .filter(r -> r.getReservationStatus() == ReservationStatus.READY_TO_PLAY)
+                .count();
+        assertEquals(1, readyToPlay);
+        assertEquals(bookedDirectly ? 0 : 1, this.countPromoted());
+    }
+
+    private long countPromoted() {
+        return waitlistEntryRepository.countBySchedule_IdAndStatus(schedule.getId(), WaitlistStatus.PROMOTED);
+    }
+
+    private WaitlistEntryDTO join(int guest) {
+        return waitlistService.joinWaitlist(schedule.getId(), CreateWaitlistEntryRequestDTO.builder()
+                .guestId(guests.get(guest).getId())
+                .build());
+    }
+
+    private ReservationDTO book(int guest) {
+        return reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(guests.get(guest).getId())
+                .scheduleId(schedule.getId())
+                .build());
+    }
+
+    private void awaitStatus(Long entryId, WaitlistStatus status) throws InterruptedException {
+        this.await(() -> waitlistEntryRepository.findById(entryId).orElseThrow().getStatus() == status);
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 5 seconds.");
+            Thread.sleep(20);
+        }
+    }
+}